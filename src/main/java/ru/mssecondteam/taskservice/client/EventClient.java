@@ -5,8 +5,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import ru.mssecondteam.taskservice.config.EventClientConfig;
 import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.EventTeamDto;
 import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
 
 import java.util.List;
@@ -19,4 +21,8 @@ public interface EventClient {
 
     @GetMapping("/events/teams/{eventId}")
     ResponseEntity<List<TeamMemberDto>> getTeamsByEventId(@RequestHeader("X-User-Id") Long userId, @PathVariable Long eventId);
+
+    @GetMapping("/events/teams")
+    ResponseEntity<List<EventTeamDto>> getTeamsByEventIds(@RequestHeader("X-User-Id") Long userId,
+                                                          @RequestParam List<Long> eventIds);
 }
@@ -2,6 +2,8 @@ package ru.mssecondteam.taskservice.client;
 
 import feign.Response;
 import feign.codec.ErrorDecoder;
+import ru.mssecondteam.taskservice.exception.EventServiceUnavailableException;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
 import ru.mssecondteam.taskservice.exception.NotFoundException;
 
 public class EventClientErrorDecoder implements ErrorDecoder {
@@ -12,8 +14,12 @@ public class EventClientErrorDecoder implements ErrorDecoder {
         switch (response.status()) {
             case 404:
                 return new NotFoundException("Event was not found");
+            case 401:
+            case 403:
+                return new NotAuthorizedException("User is not authorized to access event");
             default:
-                return new Exception("Unknown error");
+                return new EventServiceUnavailableException(String.format("Event service responded with status '%s'",
+                        response.status()));
         }
     }
 }
@@ -0,0 +1,101 @@
+package ru.mssecondteam.taskservice.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import ru.mssecondteam.taskservice.config.EventClientResilienceProperties;
+import ru.mssecondteam.taskservice.exception.EventServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class EventClientGuard {
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final ExecutorService eventClientExecutor;
+
+    private final EventClientResilienceProperties properties;
+
+    public EventClientGuard(CircuitBreaker circuitBreaker,
+                            Bulkhead bulkhead,
+                            @Qualifier("eventClientExecutor") ExecutorService eventClientExecutor,
+                            EventClientResilienceProperties properties) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.eventClientExecutor = eventClientExecutor;
+        this.properties = properties;
+    }
+
+    public <T> CompletableFuture<T> submit(EventEndpoint endpoint, Callable<T> call) {
+        acquirePermissions(endpoint);
+        final Duration timeout = properties.timeout(endpoint);
+        final long start = System.nanoTime();
+        final AtomicBoolean released = new AtomicBoolean();
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<?> running = eventClientExecutor.submit(() -> {
+            try {
+                final T value = call.call();
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.onComplete();
+                    circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                result.complete(value);
+            } catch (Throwable ex) {
+                fail(result, released, start, ex);
+            }
+        });
+        final CompletableFuture<Void> deadline = new CompletableFuture<Void>()
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        deadline.whenComplete((ignored, timedOut) -> {
+            if (timedOut != null) {
+                fail(result, released, start, new EventServiceUnavailableException(
+                        String.format("Event service call '%s' timed out after '%s'", endpoint, timeout)));
+            }
+        });
+        result.whenComplete((value, error) -> {
+            deadline.complete(null);
+            if (released.compareAndSet(false, true)) {
+                bulkhead.onComplete();
+                circuitBreaker.releasePermission();
+            }
+            running.cancel(true);
+        });
+        return result;
+    }
+
+    private void fail(CompletableFuture<?> result, AtomicBoolean released, long start, Throwable error) {
+        if (released.compareAndSet(false, true)) {
+            bulkhead.onComplete();
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, error);
+        }
+        result.completeExceptionally(error);
+    }
+
+    private void acquirePermissions(EventEndpoint endpoint) {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException ex) {
+            throw new EventServiceUnavailableException(
+                    String.format("Event service call '%s' rejected, circuit breaker is open", endpoint), ex);
+        }
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException ex) {
+            circuitBreaker.releasePermission();
+            throw new EventServiceUnavailableException(
+                    String.format("Event service call '%s' rejected, too many concurrent calls", endpoint), ex);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.mssecondteam.taskservice.client;
+
+public enum EventEndpoint {
+    EVENT,
+    TEAM,
+    BULK_TEAM
+}
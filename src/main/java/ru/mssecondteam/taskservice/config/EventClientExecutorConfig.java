@@ -0,0 +1,16 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class EventClientExecutorConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService eventClientExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("event-client-", 0).factory());
+    }
+}
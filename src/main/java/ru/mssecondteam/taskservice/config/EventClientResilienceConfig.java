@@ -0,0 +1,50 @@
+package ru.mssecondteam.taskservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+@Configuration
+@EnableConfigurationProperties(EventClientResilienceProperties.class)
+public class EventClientResilienceConfig {
+
+    private static final String EVENT_SERVICE = "event-service";
+
+    @Bean
+    public CircuitBreaker eventServiceCircuitBreaker(EventClientResilienceProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        final EventClientResilienceProperties.CircuitBreakerProperties circuitBreaker = properties.circuitBreaker();
+        final CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(circuitBreaker.failureRateThreshold())
+                .slowCallRateThreshold(circuitBreaker.slowCallRateThreshold())
+                .slowCallDurationThreshold(circuitBreaker.slowCallDurationThreshold())
+                .slidingWindowSize(circuitBreaker.slidingWindowSize())
+                .minimumNumberOfCalls(circuitBreaker.minimumNumberOfCalls())
+                .waitDurationInOpenState(circuitBreaker.waitInOpenState())
+                .ignoreExceptions(NotFoundException.class, NotAuthorizedException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(EVENT_SERVICE);
+    }
+
+    @Bean
+    public Bulkhead eventServiceBulkhead(EventClientResilienceProperties properties, MeterRegistry meterRegistry) {
+        final BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.bulkhead().maxConcurrentCalls())
+                .maxWaitDuration(properties.bulkhead().maxWait())
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(EVENT_SERVICE);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.mssecondteam.taskservice.client.EventEndpoint;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "event-service.resilience")
+public record EventClientResilienceProperties(
+
+        Map<EventEndpoint, Duration> timeouts,
+
+        BulkheadProperties bulkhead,
+
+        CircuitBreakerProperties circuitBreaker,
+
+        StaleFallbackProperties staleFallback
+) {
+
+    public EventClientResilienceProperties {
+        final Map<EventEndpoint, Duration> configured = timeouts == null ? Map.of() : timeouts;
+        final List<EventEndpoint> missing = Arrays.stream(EventEndpoint.values())
+                .filter(endpoint -> configured.get(endpoint) == null)
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException(String.format(
+                    "Timeouts of event service calls %s are not configured in 'event-service.resilience.timeouts'",
+                    missing));
+        }
+        timeouts = Map.copyOf(configured);
+    }
+
+    public Duration timeout(EventEndpoint endpoint) {
+        return timeouts.get(endpoint);
+    }
+
+    public record BulkheadProperties(
+
+            int maxConcurrentCalls,
+
+            Duration maxWait
+    ) {
+    }
+
+    public record CircuitBreakerProperties(
+
+            float failureRateThreshold,
+
+            float slowCallRateThreshold,
+
+            Duration slowCallDurationThreshold,
+
+            int slidingWindowSize,
+
+            int minimumNumberOfCalls,
+
+            Duration waitInOpenState
+    ) {
+    }
+
+    public record StaleFallbackProperties(
+
+            boolean enabled,
+
+            Duration maxStaleness,
+
+            long maximumSize
+    ) {
+    }
+}
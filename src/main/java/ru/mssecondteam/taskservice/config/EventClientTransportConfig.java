@@ -0,0 +1,22 @@
+package ru.mssecondteam.taskservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EventClientTransportConfig {
+
+    @Bean
+    public MeterBinder eventClientConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return meterRegistry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "eventClient").bindTo(meterRegistry);
+            }
+        });
+    }
+}
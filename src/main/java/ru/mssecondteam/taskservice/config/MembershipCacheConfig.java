@@ -0,0 +1,9 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({MembershipCacheProperties.class, MembershipSyncProperties.class})
+public class MembershipCacheConfig {
+}
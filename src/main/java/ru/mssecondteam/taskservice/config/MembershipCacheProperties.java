@@ -0,0 +1,18 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "event-service.membership-cache")
+public record MembershipCacheProperties(
+
+        boolean enabled,
+
+        Duration ttl,
+
+        long maximumSize,
+
+        Duration notFoundTtl
+) {
+}
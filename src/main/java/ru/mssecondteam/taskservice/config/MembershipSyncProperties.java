@@ -0,0 +1,14 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Credential the event service passes in the {@code X-Service-Token} header when it pushes membership changes. When
+ * no token is configured every push is rejected.
+ */
+@ConfigurationProperties(prefix = "event-service.membership-sync")
+public record MembershipSyncProperties(
+
+        String token
+) {
+}
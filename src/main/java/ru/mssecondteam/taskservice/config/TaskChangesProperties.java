@@ -0,0 +1,12 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "task-changes")
+public record TaskChangesProperties(
+
+        Duration tombstoneRetention
+) {
+}
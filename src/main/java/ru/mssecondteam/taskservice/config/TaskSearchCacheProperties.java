@@ -0,0 +1,17 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "task-search.cache")
+public record TaskSearchCacheProperties(
+
+        boolean enabled,
+
+        Duration ttl,
+
+        DataSize maximumWeight
+) {
+}
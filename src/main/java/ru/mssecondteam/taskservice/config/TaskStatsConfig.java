@@ -0,0 +1,11 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableConfigurationProperties(TaskStatsProperties.class)
+@EnableScheduling
+public class TaskStatsConfig {
+}
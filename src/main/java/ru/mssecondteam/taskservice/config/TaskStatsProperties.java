@@ -0,0 +1,16 @@
+package ru.mssecondteam.taskservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "task-stats")
+public record TaskStatsProperties(
+
+        Duration upcomingWindow,
+
+        Duration cacheTtl,
+
+        long cacheMaximumSize
+) {
+}
@@ -0,0 +1,102 @@
+package ru.mssecondteam.taskservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.mssecondteam.taskservice.config.MembershipSyncProperties;
+import ru.mssecondteam.taskservice.dto.event.EventTeamUpdateRequest;
+import ru.mssecondteam.taskservice.exception.ErrorResponse;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.service.membership.EventMembership;
+import ru.mssecondteam.taskservice.service.membership.EventMembershipSynchronizer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@RestController
+@RequestMapping("/internal/events")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+@Tag(name = "Event membership internal API")
+public class EventMembershipController {
+
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    private final EventMembershipSynchronizer membershipSynchronizer;
+
+    private final MembershipSyncProperties syncProperties;
+
+    @Operation(summary = "Replace cached owner and team of event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Event membership is updated"),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "403", description = "Service token is missing or invalid", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @PutMapping("/{eventId}/membership")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void updateMembership(@Parameter(description = "Event id")
+                                 @PathVariable @Positive Long eventId,
+                                 @Parameter(description = "Current owner and team of event")
+                                 @RequestBody @Valid EventTeamUpdateRequest eventTeam,
+                                 @RequestHeader(value = SERVICE_TOKEN_HEADER, required = false) String serviceToken) {
+        checkServiceToken(serviceToken);
+        log.debug("Updating membership of event with id '{}'", eventId);
+        membershipSynchronizer.update(EventMembership.of(eventId, eventTeam.ownerId(), eventTeam.teamMembersIds()));
+    }
+
+    @Operation(summary = "Invalidate cached owner and team of event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Event membership is invalidated"),
+            @ApiResponse(responseCode = "403", description = "Service token is missing or invalid", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @DeleteMapping("/{eventId}/membership")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void invalidateMembership(@Parameter(description = "Event id")
+                                     @PathVariable @Positive Long eventId,
+                                     @RequestHeader(value = SERVICE_TOKEN_HEADER, required = false)
+                                     String serviceToken) {
+        checkServiceToken(serviceToken);
+        log.debug("Invalidating membership of event with id '{}'", eventId);
+        membershipSynchronizer.invalidate(eventId);
+    }
+
+    private void checkServiceToken(String serviceToken) {
+        final String token = syncProperties.token();
+        if (token == null || token.isEmpty() || serviceToken == null
+                || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                serviceToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new NotAuthorizedException("Service token is missing or invalid");
+        }
+    }
+}
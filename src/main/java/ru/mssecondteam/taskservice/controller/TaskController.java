@@ -1,18 +1,30 @@
 package ru.mssecondteam.taskservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,16 +37,27 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.mssecondteam.taskservice.dto.NewTaskRequest;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskChangesDto;
 import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.dto.TaskStatsDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
 import ru.mssecondteam.taskservice.dto.TaskUpdateRequest;
 import ru.mssecondteam.taskservice.exception.ErrorResponse;
 import ru.mssecondteam.taskservice.mapper.TaskMapper;
 import ru.mssecondteam.taskservice.model.Task;
 import ru.mssecondteam.taskservice.service.TaskService;
+import ru.mssecondteam.taskservice.service.export.TaskColumnarWriter;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsGroupBy;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/tasks")
@@ -44,10 +67,18 @@ import java.util.List;
 @Tag(name = "Tasks API")
 public class TaskController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     private final TaskService taskService;
 
     private final TaskMapper taskMapper;
 
+    private final ObjectMapper objectMapper;
+
     @Operation(summary = "Create task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Created new task", content = {
@@ -117,29 +148,256 @@ public class TaskController {
                                 @PathVariable Long taskId,
                                 @RequestHeader("X-User-Id") Long userId) {
         log.debug("User with id '{}' requesting task with id '{}", userId, taskId);
-        final Task task = taskService.findTaskById(taskId);
-        return taskMapper.toDto(task);
+        return taskService.findTaskById(taskId);
     }
 
     @Operation(summary = "Search tasks")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Returned tasks", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDto.class))
+            }, headers = {
+                    @Header(name = "X-Next-Cursor", description = "Cursor of the next page, absent on the last page"),
+                    @Header(name = "X-Total-Count", description = "Number of matching tasks, only with includeTotal")
+            }),
+            @ApiResponse(responseCode = "400", description = "Validation error, invalid search cursor or sort not " +
+                    "supported with the filter", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             }),
             @ApiResponse(responseCode = "500", description = "Unknown error", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             })
     })
     @GetMapping
-    public List<TaskDto> searchTasks(@Parameter(description = "Page number")
-                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer page,
-                                     @Parameter(description = "Number of tasks per page")
-                                     @RequestParam(defaultValue = "10") @Positive Integer size,
-                                     @Parameter(description = "Search filer")
-                                     TaskSearchFilter searchFilter,
-                                     @RequestHeader("X-User-Id") Long userId) {
-        List<Task> tasks = taskService.searchTasks(page, size, searchFilter);
-        return taskMapper.toDtoList(tasks);
+    public ResponseEntity<List<TaskDto>> searchTasks(@Parameter(description = "Page number, ignored when cursor is set")
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer page,
+                                                     @Parameter(description = "Number of tasks per page")
+                                                     @RequestParam(defaultValue = "10") @Positive @Max(100) Integer size,
+                                                     @Parameter(description = "Cursor from the X-Next-Cursor header " +
+                                                             "of the previous page")
+                                                     @RequestParam(required = false) String cursor,
+                                                     @Parameter(description = "Return the total number of matching " +
+                                                             "tasks in the X-Total-Count header")
+                                                     @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                     @Parameter(description = "Search filer")
+                                                     @Valid TaskSearchFilter searchFilter,
+                                                     @Parameter(description = "Sort order, ties are broken by id")
+                                                     @RequestParam(defaultValue = "CREATED_AT") TaskSort sort,
+                                                     @Parameter(description = "Sort direction")
+                                                     @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                     @RequestHeader("X-User-Id") Long userId) {
+        final SearchResult<TaskDto> tasks = taskService.searchTasks(page, size, cursor, includeTotal, searchFilter,
+                sort, direction);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tasks.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, tasks.nextCursor());
+        }
+        if (tasks.total() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(tasks.total()));
+        }
+        return response.body(tasks.content());
+    }
+
+    @Operation(summary = "Full-text search of tasks by title and description")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returned tasks, most relevant first", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDto.class))
+            }, headers = {
+                    @Header(name = "X-Next-Cursor", description = "Cursor of the next page, absent on the last page")
+            }),
+            @ApiResponse(responseCode = "400", description = "Validation error or invalid search cursor", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskDto>> searchTasksByText(@Parameter(description = "Words to look for, supports " +
+                                                                   "\"quoted phrases\", OR and -exclusion")
+                                                           @RequestParam @NotBlank String text,
+                                                           @Parameter(description = "Number of tasks per page")
+                                                           @RequestParam(defaultValue = "10") @Positive @Max(100) Integer size,
+                                                           @Parameter(description = "Cursor from the X-Next-Cursor " +
+                                                                   "header of the previous page")
+                                                           @RequestParam(required = false) String cursor,
+                                                           @Parameter(description = "Search filer")
+                                                           @Valid TaskSearchFilter searchFilter,
+                                                           @RequestHeader("X-User-Id") Long userId) {
+        log.debug("User with id '{}' searching tasks by text '{}'", userId, text);
+        final SearchResult<TaskDto> tasks = taskService.searchTasksByText(text, size, cursor, searchFilter);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tasks.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, tasks.nextCursor());
+        }
+        return response.body(tasks.content());
+    }
+
+    @Operation(summary = "Suggest tasks of event by title, tolerating typos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returned suggestions, prefix matches first", content = {
+                    @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskSuggestionDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @GetMapping("/suggest")
+    public List<TaskSuggestionDto> suggestTasks(@Parameter(description = "Event's id")
+                                                @RequestParam Long eventId,
+                                                @Parameter(description = "Beginning of the title or a word from it")
+                                                @RequestParam @NotBlank String text,
+                                                @Parameter(description = "Maximum number of suggestions")
+                                                @RequestParam(defaultValue = "10") @Positive @Max(50) Integer size,
+                                                @RequestHeader("X-User-Id") Long userId) {
+        log.debug("User with id '{}' requesting task suggestions for text '{}' in event with id '{}'", userId, text,
+                eventId);
+        return taskService.suggestTasks(eventId, text, size);
+    }
+
+    @Operation(summary = "Find tasks of event changed since a change version",
+            description = "Tasks created, modified, deleted or moved to another event after the given version. " +
+                    "Start without since, then pass nextSince of the previous response. Removals are kept for " +
+                    "task-changes.tombstone-retention, 7 days by default, so nextSince stays valid for that long " +
+                    "after it was returned; an expired one is rejected, start over without since then")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returned changes", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TaskChangesDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Validation error, invalid or expired change version",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class))
+                    }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @GetMapping("/changes")
+    public TaskChangesDto findChanges(@Parameter(description = "Event's id")
+                                      @RequestParam Long eventId,
+                                      @Parameter(description = "nextSince of the previous response, all tasks " +
+                                              "of the event are returned when absent")
+                                      @RequestParam(required = false) String since,
+                                      @Parameter(description = "Maximum number of changes")
+                                      @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer size,
+                                      @RequestHeader("X-User-Id") Long userId) {
+        log.debug("User with id '{}' requesting changes of tasks of event with id '{}' since '{}'", userId, eventId,
+                since);
+        return taskService.findChanges(eventId, since, size);
+    }
+
+    @Operation(summary = "Count tasks of events by status, overdue and upcoming deadline")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returned counts per event or per group inside event",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskStatsDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @GetMapping("/stats")
+    public List<TaskStatsDto> getTaskStats(@Parameter(description = "Ids of events")
+                                           @RequestParam @NotEmpty @Size(max = 100) Set<Long> eventIds,
+                                           @Parameter(description = "Grouping inside event, counts per event " +
+                                                   "when absent")
+                                           @RequestParam(required = false) TaskStatsGroupBy groupBy,
+                                           @RequestHeader("X-User-Id") Long userId) {
+        log.debug("User with id '{}' requesting task statistics of events with ids '{}' grouped by '{}'", userId,
+                eventIds, groupBy);
+        return taskService.getTaskStats(eventIds, groupBy);
+    }
+
+    @Operation(summary = "Count tasks of events by status from maintained counters")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Returned counts per event or per epic inside event",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskStatsDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @GetMapping("/status-counts")
+    public List<TaskStatsDto> getStatusCounts(@Parameter(description = "Ids of events")
+                                              @RequestParam @NotEmpty @Size(max = 100) Set<Long> eventIds,
+                                              @Parameter(description = "Count per epic inside event")
+                                              @RequestParam(defaultValue = "false") boolean byEpic,
+                                              @RequestHeader("X-User-Id") Long userId) {
+        log.debug("User with id '{}' requesting status counts of events with ids '{}', by epic '{}'", userId,
+                eventIds, byEpic);
+        return taskService.getStatusCounts(eventIds, byEpic);
+    }
+
+    @Operation(summary = "Export all tasks of event as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streamed tasks, one JSON object per line", content = {
+                    @Content(mediaType = NDJSON_MEDIA_TYPE, schema = @Schema(implementation = TaskDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(@Parameter(description = "Event's id")
+                                                             @RequestParam Long eventId,
+                                                             @RequestHeader("X-User-Id") Long userId) {
+        log.debug("User with id '{}' exporting tasks of event with id '{}'", userId, eventId);
+        final ObjectWriter writer = objectMapper.writerFor(TaskDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                taskService.exportTasks(eventId, task -> writeLine(writer, generator, task));
+            } catch (UncheckedIOException ex) {
+                log.warn("Export of tasks of event with id '{}' was aborted: {}", eventId,
+                        ex.getCause().getLocalizedMessage());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
+    @Operation(summary = "Export all tasks of event in columnar binary format",
+            description = "Batches of columns: primitive ids, epoch millisecond timestamps, dictionary encoded " +
+                    "status and offset encoded strings. Layout is described in TaskColumnarWriter")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streamed tasks in columnar batches", content = {
+                    @Content(mediaType = TaskColumnarWriter.MEDIA_TYPE)
+            }),
+            @ApiResponse(responseCode = "500", description = "Unknown error", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+    })
+    @GetMapping(value = "/export", params = "format=columnar", produces = TaskColumnarWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportTasksColumnar(@Parameter(description = "Event's id")
+                                                                     @RequestParam Long eventId,
+                                                                     @RequestHeader("X-User-Id") Long userId) {
+        log.debug("User with id '{}' exporting tasks of event with id '{}' in columnar format", userId, eventId);
+        final StreamingResponseBody body = outputStream -> {
+            try (TaskColumnarWriter writer = new TaskColumnarWriter(outputStream)) {
+                taskService.exportTasks(eventId, writer);
+            } catch (UncheckedIOException ex) {
+                log.warn("Export of tasks of event with id '{}' was aborted: {}", eventId,
+                        ex.getCause().getLocalizedMessage());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TaskColumnarWriter.MEDIA_TYPE))
+                .body(body);
     }
 
     @Operation(summary = "Delete task")
@@ -160,4 +418,13 @@ public class TaskController {
         log.debug("User with id '{}' deleting task with id '{}'", userId, taskId);
         taskService.deleteTaskById(taskId, userId);
     }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, TaskDto task) {
+        try {
+            writer.writeValue(generator, task);
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package ru.mssecondteam.taskservice.dto;
+
+import java.util.List;
+
+public record SearchResult<T>(
+
+        List<T> content,
+
+        String nextCursor,
+
+        Long total
+) {
+}
@@ -0,0 +1,24 @@
+package ru.mssecondteam.taskservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Changes of event tasks after a change version")
+public record TaskChangesDto(
+
+        @Schema(description = "Tasks created or modified, in the order of change")
+        List<TaskDto> tasks,
+
+        @Schema(description = "Ids of tasks deleted or moved to another event")
+        List<Long> removedTaskIds,
+
+        @Schema(description = "Change version to request next changes since")
+        String nextSince,
+
+        @Schema(description = "More changes are available right away")
+        boolean hasMore
+) {
+}
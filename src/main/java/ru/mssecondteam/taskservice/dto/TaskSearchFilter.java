@@ -1,19 +1,62 @@
 package ru.mssecondteam.taskservice.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
+import org.springframework.format.annotation.DateTimeFormat;
+import ru.mssecondteam.taskservice.model.TaskStatus;
 
-@Builder
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Builder(toBuilder = true)
 @Schema(description = "Search filter")
 public record TaskSearchFilter(
 
         @Schema(description = "Task event id")
         Long eventId,
 
+        @Schema(description = "Task event ids, any of")
+        @Size(max = 100)
+        Set<Long> eventIds,
+
         @Schema(description = "Task assignee id")
         Long assigneeId,
 
+        @Schema(description = "Task assignee ids, any of")
+        @Size(max = 100)
+        Set<Long> assigneeIds,
+
         @Schema(description = "Task author id")
-        Long authorId
+        Long authorId,
+
+        @Schema(description = "Task author ids, any of")
+        @Size(max = 100)
+        Set<Long> authorIds,
+
+        @Schema(description = "Task statuses, any of")
+        Set<TaskStatus> statuses,
+
+        @Schema(description = "Deadline is not before, format dd.MM.yyyy HH:mm")
+        @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime deadlineFrom,
+
+        @Schema(description = "Deadline is not after, format dd.MM.yyyy HH:mm")
+        @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime deadlineTo,
+
+        @Schema(description = "Task is created not before, format dd.MM.yyyy HH:mm")
+        @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime createdFrom,
+
+        @Schema(description = "Task is created not after, format dd.MM.yyyy HH:mm")
+        @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime createdTo,
+
+        @Schema(description = "Task epic id")
+        Long epicId,
+
+        @Schema(description = "Only tasks that are not added to any epic")
+        Boolean withoutEpic
 ) {
 }
@@ -0,0 +1,34 @@
+package ru.mssecondteam.taskservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.util.Map;
+
+@Builder
+@Schema(description = "Task counts of an event or of a group inside it")
+public record TaskStatsDto(
+
+        @Schema(description = "Event id")
+        Long eventId,
+
+        @Schema(description = "Assignee id when grouped by assignee, absent for unassigned tasks")
+        Long assigneeId,
+
+        @Schema(description = "Epic id when grouped by epic, absent for tasks outside of epics")
+        Long epicId,
+
+        @Schema(description = "Number of tasks in every status")
+        Map<TaskStatus, Long> statusCounts,
+
+        @Schema(description = "Number of tasks")
+        Long total,
+
+        @Schema(description = "Number of tasks to do or in progress with deadline passed")
+        Long overdue,
+
+        @Schema(description = "Number of tasks to do or in progress with deadline within the upcoming window")
+        Long upcoming
+) {
+}
@@ -0,0 +1,20 @@
+package ru.mssecondteam.taskservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+@Builder
+@Schema(description = "Task suggested by title")
+public record TaskSuggestionDto(
+
+        @Schema(description = "Task id")
+        Long id,
+
+        @Schema(description = "Task title")
+        String title,
+
+        @Schema(description = "Task status")
+        TaskStatus status
+) {
+}
@@ -0,0 +1,13 @@
+package ru.mssecondteam.taskservice.dto.event;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record EventTeamDto(
+        Long eventId,
+        Long ownerId,
+        List<TeamMemberDto> teamMembers
+) {
+}
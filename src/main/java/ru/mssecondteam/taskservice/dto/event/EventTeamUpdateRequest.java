@@ -0,0 +1,22 @@
+package ru.mssecondteam.taskservice.dto.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Current owner and team of event")
+public record EventTeamUpdateRequest(
+        @NotNull(message = "Owner id must be specified")
+        @Positive(message = "Owner id must be positive")
+        @Schema(description = "Event owner id")
+        Long ownerId,
+
+        @NotNull(message = "Team members ids must be specified")
+        @Schema(description = "Ids of event team members")
+        List<@NotNull @Positive Long> teamMembersIds
+) {
+}
@@ -2,7 +2,9 @@ package ru.mssecondteam.taskservice.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.ClientAbortException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,7 +12,11 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.LocalDateTime;
@@ -39,6 +45,15 @@ public class ApplicationExceptionHandler {
         return errorResponse;
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleBadRequestException(BadRequestException ex) {
+        Map<String, String> error = Map.of("error", ex.getLocalizedMessage());
+        ErrorResponse errorResponse = new ErrorResponse(error, HttpStatus.BAD_REQUEST.value(), LocalDateTime.now());
+        log.error(ex.getLocalizedMessage());
+        return errorResponse;
+    }
+
     @ExceptionHandler(NotAuthorizedException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ErrorResponse handleNotAuthorizedException(NotAuthorizedException ex) {
@@ -57,6 +72,25 @@ public class ApplicationExceptionHandler {
         return errorResponse;
     }
 
+    @ExceptionHandler(EventServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleEventServiceUnavailableException(EventServiceUnavailableException ex) {
+        Map<String, String> error = Map.of("error", ex.getLocalizedMessage());
+        ErrorResponse errorResponse = new ErrorResponse(error, HttpStatus.SERVICE_UNAVAILABLE.value(), LocalDateTime.now());
+        log.error(ex.getLocalizedMessage());
+        return errorResponse;
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        Map<String, String> error = Map.of("error", String.format("Invalid value '%s' of parameter '%s'",
+                ex.getValue(), ex.getName()));
+        ErrorResponse errorResponse = new ErrorResponse(error, HttpStatus.BAD_REQUEST.value(), LocalDateTime.now());
+        log.error(ex.getLocalizedMessage());
+        return errorResponse;
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleConstraintViolationException(ConstraintViolationException ex) {
@@ -83,6 +117,20 @@ public class ApplicationExceptionHandler {
         return errorResponse;
     }
 
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsableException(AsyncRequestNotUsableException ex) {
+        log.debug("Response was not completed, client has gone away: {}", ex.getLocalizedMessage());
+    }
+
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<ErrorResponse> handleIOException(IOException ex) {
+        if (isClientDisconnect(ex)) {
+            log.debug("Response was not completed, client has gone away: {}", ex.getLocalizedMessage());
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(handleAllException(ex));
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleAllException(Exception ex) {
@@ -94,6 +142,28 @@ public class ApplicationExceptionHandler {
         return errorResponse;
     }
 
+    /**
+     * Failures caused by the client closing the connection, recognized by the exception types the container and
+     * Spring MVC use for them. Socket messages of a closed peer are matched only as a last resort, for errors that
+     * reach the handler without being wrapped into one of these types; they are platform dependent.
+     */
+    private static boolean isClientDisconnect(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ClientAbortException || cause instanceof AsyncRequestNotUsableException
+                    || cause instanceof EOFException) {
+                return true;
+            }
+        }
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            final String message = cause.getMessage();
+            if (cause instanceof IOException && message != null
+                    && (message.contains("Broken pipe") || message.contains("Connection reset"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String getStackTraceAsString(Exception ex) {
         final StringWriter sw = new StringWriter();
         final PrintWriter pw = new PrintWriter(sw);
@@ -0,0 +1,7 @@
+package ru.mssecondteam.taskservice.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import ru.mssecondteam.taskservice.dto.TaskDto;
+
+public record RankedTask(
+
+        TaskDto task,
+
+        Float rank
+) {
+}
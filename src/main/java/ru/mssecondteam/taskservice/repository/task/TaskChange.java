@@ -0,0 +1,11 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+public record TaskChange(
+
+        Long taskId,
+
+        Long changeVersion,
+
+        boolean removed
+) {
+}
@@ -2,7 +2,22 @@ package ru.mssecondteam.taskservice.repository.task;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.model.Task;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskSearchRepository, TaskStatusCounterRepository {
+
+    @Query("select new ru.mssecondteam.taskservice.dto.TaskDto(t.id, t.title, t.description, t.createdAt, " +
+            "t.deadline, t.status, t.assigneeId, t.authorId, t.eventId, t.epic.id) from Task t where t.id = :taskId")
+    Optional<TaskDto> findDtoById(Long taskId);
+
+    @Query("select new ru.mssecondteam.taskservice.dto.TaskDto(t.id, t.title, t.description, t.createdAt, " +
+            "t.deadline, t.status, t.assigneeId, t.authorId, t.eventId, t.epic.id) from Task t where t.id in :taskIds")
+    List<TaskDto> findDtoByIdIn(Collection<Long> taskIds);
 }
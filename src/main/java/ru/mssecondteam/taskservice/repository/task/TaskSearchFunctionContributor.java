@@ -0,0 +1,91 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Registers the PostgreSQL full-text, trigram and array operators used by task search, so they can be combined with
+ * {@link TaskSpecification} filters in criteria queries. Registered through {@code META-INF/services}.
+ */
+public class TaskSearchFunctionContributor implements FunctionContributor {
+
+    /**
+     * The {@code search_vector} column of the task whose column is passed. The column is not mapped on the entity,
+     * so that loading a task does not load its vector.
+     */
+    public static final String SEARCH_VECTOR = "task_search_vector";
+
+    public static final String TEXT_QUERY = "task_text_query";
+
+    public static final String TEXT_MATCH = "task_text_match";
+
+    public static final String TEXT_RANK = "task_text_rank";
+
+    public static final String TITLE_PREFIX = "task_title_prefix";
+
+    public static final String TITLE_SIMILAR = "task_title_similar";
+
+    public static final String TITLE_SIMILARITY = "task_title_similarity";
+
+    /**
+     * Column equals any element of an array bound as one parameter, so the statement is the same for any number of
+     * values.
+     */
+    public static final String ANY_OF = "task_any_of";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        final SqmFunctionRegistry functionRegistry = functionContributions.getFunctionRegistry();
+        final BasicTypeRegistry typeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionRegistry.register(SEARCH_VECTOR,
+                new SearchVectorFunction(typeRegistry.resolve(StandardBasicTypes.STRING)));
+        functionRegistry.registerPattern(TEXT_QUERY, "websearch_to_tsquery('simple', ?1)",
+                typeRegistry.resolve(StandardBasicTypes.STRING));
+        functionRegistry.registerPattern(TEXT_MATCH, "(?1 @@ ?2)",
+                typeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        functionRegistry.registerPattern(TEXT_RANK, "ts_rank_cd(?1, ?2)",
+                typeRegistry.resolve(StandardBasicTypes.FLOAT));
+        functionRegistry.registerPattern(TITLE_PREFIX, "(?1 ilike ?2)",
+                typeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        functionRegistry.registerPattern(TITLE_SIMILAR, "(?2 <% ?1)",
+                typeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        functionRegistry.registerPattern(TITLE_SIMILARITY, "word_similarity(?2, ?1)",
+                typeRegistry.resolve(StandardBasicTypes.FLOAT));
+        functionRegistry.registerPattern(ANY_OF, "(?1 = any(?2))",
+                typeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+    }
+
+    private static final class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private SearchVectorFunction(BasicType<String> type) {
+            super(SEARCH_VECTOR, StandardArgumentsValidators.exactly(1),
+                    StandardFunctionReturnTypeResolvers.invariant(type), null);
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> sqlAstArguments,
+                           ReturnableType<?> returnType, SqlAstTranslator<?> walker) {
+            final ColumnReference column = ((Expression) sqlAstArguments.get(0)).getColumnReference();
+            if (column.getQualifier() != null) {
+                sqlAppender.appendSql(column.getQualifier());
+                sqlAppender.appendSql('.');
+            }
+            sqlAppender.appendSql("search_vector");
+        }
+    }
+}
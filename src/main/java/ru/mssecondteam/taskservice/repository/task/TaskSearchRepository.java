@@ -0,0 +1,78 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
+import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.service.search.TaskChangeCursor;
+import ru.mssecondteam.taskservice.service.search.TaskTextCursor;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsGroupBy;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskSearchRepository {
+
+    /**
+     * Returns at most {@code limit} tasks starting from {@code offset} without issuing a count query. Tasks are
+     * selected straight into {@link TaskDto}, so no entities are loaded into the persistence context.
+     */
+    List<TaskDto> findSlice(Specification<Task> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Same as {@link #findSlice} for tasks matching any of the specifications, which must not overlap. Every
+     * specification is read with its own ordered scan limited to {@code offset + limit} rows, and the scans are
+     * merged with {@code union all} in the requested order, so the database can merge them without sorting.
+     */
+    List<TaskDto> findMergedSlice(List<Specification<Task>> specs, Sort sort, long offset, int limit);
+
+    /**
+     * Streams all tasks of the event in (createdAt, id) order from a server-side cursor reading {@code fetchSize}
+     * rows per round trip. Must be consumed and closed inside a transaction.
+     */
+    Stream<TaskDto> streamByEventId(Long eventId, int fetchSize);
+
+    /**
+     * Returns at most {@code limit} tasks matching the full-text query, ordered by rank and then id, starting after
+     * {@code cursor} when it is set. Tasks are selected straight into {@link TaskDto}, like in {@link #findSlice}.
+     */
+    List<RankedTask> findByText(String text, Specification<Task> spec, TaskTextCursor cursor, int limit);
+
+    /**
+     * Returns at most {@code limit} tasks of the event whose title starts with {@code text} or contains a word
+     * similar to it, prefix matches first and then by similarity.
+     */
+    List<TaskSuggestionDto> suggestByTitle(Long eventId, String text, int limit);
+
+    /**
+     * Returns at most {@code limit} tasks of the event changed or removed from it after {@code since}, ordered by
+     * change version and then task id. Versions are ids of the writing transactions, so changes made by transactions
+     * that may still be running, or that started before one that is, are left for a later call: otherwise a client
+     * could move past them before they commit.
+     */
+    List<TaskChange> findChanges(Long eventId, TaskChangeCursor since, int limit);
+
+    /**
+     * Returns the highest change version of deleted tombstones: changes after an older version may be incomplete.
+     */
+    long findTombstoneHorizon();
+
+    /**
+     * Deletes tombstones of tasks removed before {@code removedBefore} and raises the tombstone horizon to the
+     * highest deleted change version, in one statement.
+     *
+     * @return number of deleted tombstones
+     */
+    int deleteTombstones(LocalDateTime removedBefore);
+
+    /**
+     * Counts tasks of the events in one grouped query, per event, {@code groupBy} attribute when it is set, and
+     * status. Overdue tasks have deadline before {@code now}, upcoming ones between {@code now} and
+     * {@code upcomingUntil}; both are counted regardless of status.
+     */
+    List<TaskStatusCount> countByStatus(Collection<Long> eventIds, TaskStatsGroupBy groupBy, LocalDateTime now,
+                                        LocalDateTime upcomingUntil);
+}
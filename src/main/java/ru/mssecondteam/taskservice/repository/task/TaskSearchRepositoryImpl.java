@@ -0,0 +1,277 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
+import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.service.search.TaskChangeCursor;
+import ru.mssecondteam.taskservice.service.search.TaskTextCursor;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsGroupBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+import static ru.mssecondteam.taskservice.repository.task.TaskSearchFunctionContributor.SEARCH_VECTOR;
+import static ru.mssecondteam.taskservice.repository.task.TaskSearchFunctionContributor.TEXT_MATCH;
+import static ru.mssecondteam.taskservice.repository.task.TaskSearchFunctionContributor.TEXT_QUERY;
+import static ru.mssecondteam.taskservice.repository.task.TaskSearchFunctionContributor.TEXT_RANK;
+import static ru.mssecondteam.taskservice.repository.task.TaskSearchFunctionContributor.TITLE_PREFIX;
+import static ru.mssecondteam.taskservice.repository.task.TaskSearchFunctionContributor.TITLE_SIMILAR;
+import static ru.mssecondteam.taskservice.repository.task.TaskSearchFunctionContributor.TITLE_SIMILARITY;
+
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    /**
+     * Lower than the pg_trgm default of 0.6, which misses a single dropped letter in words of eight letters.
+     */
+    private static final String WORD_SIMILARITY_THRESHOLD = "0.4";
+
+    private static final String CHANGES_QUERY = """
+            select c.task_id, c.change_version, c.removed from (
+                (select t.task_id, t.change_version, false as removed from tasks t
+                 where t.event_id = :eventId
+                   and (t.change_version, t.task_id) > (:changeVersion, :taskId)
+                   and t.change_version < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+                 order by t.change_version, t.task_id
+                 limit :limit)
+                union all
+                (select r.task_id, r.change_version, true as removed from task_tombstones r
+                 where r.event_id = :eventId
+                   and (r.change_version, r.task_id) > (:changeVersion, :taskId)
+                   and r.change_version < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+                 order by r.change_version, r.task_id
+                 limit :limit)
+            ) c
+            order by c.change_version, c.task_id
+            limit :limit
+            """;
+
+    private static final String DELETE_TOMBSTONES_QUERY = """
+            with deleted as (
+                delete from task_tombstones where removed_at < :removedBefore
+                returning change_version),
+            horizon as (
+                update task_tombstone_horizon
+                set change_version = greatest(change_version, (select max(change_version) from deleted)))
+            select count(*) from deleted
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDto> findSlice(Specification<Task> spec, Sort sort, long offset, int limit) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TaskDto> query = criteriaBuilder.createQuery(TaskDto.class);
+        final Root<Task> root = query.from(Task.class);
+        query.select(taskDto(criteriaBuilder, root));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, criteriaBuilder));
+        }
+        query.orderBy(toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskDto> findMergedSlice(List<Specification<Task>> specs, Sort sort, long offset, int limit) {
+        final HibernateCriteriaBuilder criteriaBuilder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        final List<JpaCriteriaQuery<TaskDto>> scans = new ArrayList<>();
+        final List<Root<Task>> roots = new ArrayList<>();
+        for (Specification<Task> spec : specs) {
+            final JpaCriteriaQuery<TaskDto> scan = criteriaBuilder.createQuery(TaskDto.class);
+            final Root<Task> root = scan.from(Task.class);
+            scan.select(taskDto(criteriaBuilder, root))
+                    .where(spec.toPredicate(root, scan, criteriaBuilder))
+                    .orderBy(toOrders(sort, root, criteriaBuilder));
+            scan.fetch(offset + limit);
+            scans.add(scan);
+            roots.add(root);
+        }
+        final JpaCriteriaQuery<TaskDto> query = criteriaBuilder.unionAll(scans.get(0),
+                scans.subList(1, scans.size()).toArray(CriteriaQuery<?>[]::new));
+        query.orderBy(toOrders(sort, roots.get(0), criteriaBuilder));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskDto> streamByEventId(Long eventId, int fetchSize) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TaskDto> query = criteriaBuilder.createQuery(TaskDto.class);
+        final Root<Task> root = query.from(Task.class);
+        query.select(taskDto(criteriaBuilder, root))
+                .where(criteriaBuilder.equal(root.get("eventId"), eventId))
+                .orderBy(criteriaBuilder.asc(root.get("createdAt")), criteriaBuilder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<RankedTask> findByText(String text, Specification<Task> spec, TaskTextCursor cursor, int limit) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        final Root<Task> root = query.from(Task.class);
+        final ParameterExpression<String> textParameter = criteriaBuilder.parameter(String.class);
+        final Expression<String> textQuery = criteriaBuilder.function(TEXT_QUERY, String.class, textParameter);
+        final Expression<String> searchVector = criteriaBuilder.function(SEARCH_VECTOR, String.class, root.get("id"));
+        final Expression<Float> rank = criteriaBuilder.function(TEXT_RANK, Float.class, searchVector,
+                textQuery);
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.isTrue(criteriaBuilder.function(TEXT_MATCH, Boolean.class,
+                searchVector, textQuery)));
+        if (spec != null) {
+            predicates.add(spec.toPredicate(root, query, criteriaBuilder));
+        }
+        if (cursor != null) {
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(rank, cursor.rank()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(rank, cursor.rank()),
+                            criteriaBuilder.greaterThan(root.get("id"), cursor.id()))));
+        }
+        // rank goes first: order by refers to it by position, which hibernate counts with the dto as one column
+        query.multiselect(rank, taskDto(criteriaBuilder, root))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(criteriaBuilder.desc(rank), criteriaBuilder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setParameter(textParameter, text)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> new RankedTask(tuple.get(1, TaskDto.class), tuple.get(0, Float.class)))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSuggestionDto> suggestByTitle(Long eventId, String text, int limit) {
+        entityManager.createNativeQuery("select set_config('pg_trgm.word_similarity_threshold', ?1, true)")
+                .setParameter(1, WORD_SIMILARITY_THRESHOLD)
+                .getSingleResult();
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TaskSuggestionDto> query = criteriaBuilder.createQuery(TaskSuggestionDto.class);
+        final Root<Task> root = query.from(Task.class);
+        final ParameterExpression<String> prefixParameter = criteriaBuilder.parameter(String.class);
+        final ParameterExpression<String> textParameter = criteriaBuilder.parameter(String.class);
+        final Predicate prefixMatch = criteriaBuilder.isTrue(criteriaBuilder.function(TITLE_PREFIX, Boolean.class,
+                root.get("title"), prefixParameter));
+        final Predicate similarMatch = criteriaBuilder.isTrue(criteriaBuilder.function(TITLE_SIMILAR, Boolean.class,
+                root.get("title"), textParameter));
+        query.select(criteriaBuilder.construct(TaskSuggestionDto.class, root.get("id"), root.get("title"),
+                        root.get("status")))
+                .where(criteriaBuilder.equal(root.get("eventId"), eventId),
+                        criteriaBuilder.or(prefixMatch, similarMatch))
+                .orderBy(criteriaBuilder.asc(criteriaBuilder.selectCase().when(prefixMatch, 0).otherwise(1)),
+                        criteriaBuilder.desc(criteriaBuilder.function(TITLE_SIMILARITY, Float.class,
+                                root.get("title"), textParameter)),
+                        criteriaBuilder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setParameter(prefixParameter, escapeLike(text) + "%")
+                .setParameter(textParameter, text)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskChange> findChanges(Long eventId, TaskChangeCursor since, int limit) {
+        final List<Object[]> rows = entityManager.createNativeQuery(CHANGES_QUERY)
+                .setParameter("eventId", eventId)
+                .setParameter("changeVersion", since.changeVersion())
+                .setParameter("taskId", since.taskId())
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TaskChange(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                        (Boolean) row[2]))
+                .toList();
+    }
+
+    @Override
+    public long findTombstoneHorizon() {
+        return ((Number) entityManager.createNativeQuery("select change_version from task_tombstone_horizon")
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    public int deleteTombstones(LocalDateTime removedBefore) {
+        return ((Number) entityManager.createNativeQuery(DELETE_TOMBSTONES_QUERY)
+                .setParameter("removedBefore", removedBefore)
+                .getSingleResult()).intValue();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskStatusCount> countByStatus(Collection<Long> eventIds, TaskStatsGroupBy groupBy,
+                                               LocalDateTime now, LocalDateTime upcomingUntil) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        final Root<Task> root = query.from(Task.class);
+        final Path<LocalDateTime> deadline = root.get("deadline");
+        final Expression<Long> group = groupBy == null ? criteriaBuilder.nullLiteral(Long.class)
+                : groupBy.attribute(root);
+        final List<Expression<?>> grouping = new ArrayList<>();
+        grouping.add(root.get("eventId"));
+        if (groupBy != null) {
+            grouping.add(group);
+        }
+        grouping.add(root.get("status"));
+        query.multiselect(root.get("eventId"), group, root.get("status"), criteriaBuilder.count(root),
+                        countWhere(criteriaBuilder, criteriaBuilder.lessThan(deadline, now)),
+                        countWhere(criteriaBuilder, criteriaBuilder.and(
+                                criteriaBuilder.greaterThanOrEqualTo(deadline, now),
+                                criteriaBuilder.lessThan(deadline, upcomingUntil))))
+                .where(root.get("eventId").in(eventIds))
+                .groupBy(grouping);
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(tuple -> new TaskStatusCount(tuple.get(0, Long.class), tuple.get(1, Long.class),
+                        tuple.get(2, TaskStatus.class), tuple.get(3, Long.class), tuple.get(4, Long.class),
+                        tuple.get(5, Long.class)))
+                .toList();
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder criteriaBuilder, Predicate predicate) {
+        return criteriaBuilder.sum(criteriaBuilder.<Long>selectCase()
+                .when(predicate, 1L)
+                .otherwise(0L));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static CompoundSelection<TaskDto> taskDto(CriteriaBuilder criteriaBuilder, Root<Task> root) {
+        return criteriaBuilder.construct(TaskDto.class, root.get("id"), root.get("title"), root.get("description"),
+                root.get("createdAt"), root.get("deadline"), root.get("status"), root.get("assigneeId"),
+                root.get("authorId"), root.get("eventId"), root.get("epic").get("id"));
+    }
+}
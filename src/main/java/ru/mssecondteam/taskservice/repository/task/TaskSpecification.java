@@ -1,8 +1,19 @@
 package ru.mssecondteam.taskservice.repository.task;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 import lombok.experimental.UtilityClass;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.service.search.TaskCursor;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+
+import java.time.LocalDateTime;
+import java.util.Set;
 
 @UtilityClass
 public class TaskSpecification {
@@ -15,6 +26,18 @@ public class TaskSpecification {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("eventId"), eventId);
     }
 
+    public static Specification<Task> eventIdIn(Set<Long> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return null;
+        }
+        if (eventIds.size() == 1) {
+            return eventIdEquals(eventIds.iterator().next());
+        }
+
+        return (root, query, criteriaBuilder) -> anyOf(criteriaBuilder, root.get("eventId"),
+                eventIds.toArray(Long[]::new));
+    }
+
     public static Specification<Task> assigneeIdEquals(Long assigneeId) {
         if (assigneeId == null) {
             return null;
@@ -23,6 +46,18 @@ public class TaskSpecification {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("assigneeId"), assigneeId);
     }
 
+    public static Specification<Task> assigneeIdIn(Set<Long> assigneeIds) {
+        if (assigneeIds == null || assigneeIds.isEmpty()) {
+            return null;
+        }
+        if (assigneeIds.size() == 1) {
+            return assigneeIdEquals(assigneeIds.iterator().next());
+        }
+
+        return (root, query, criteriaBuilder) -> anyOf(criteriaBuilder, root.get("assigneeId"),
+                assigneeIds.toArray(Long[]::new));
+    }
+
     public static Specification<Task> authorIdEquals(Long authorId) {
         if (authorId == null) {
             return null;
@@ -30,4 +65,148 @@ public class TaskSpecification {
 
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("authorId"), authorId);
     }
+
+    public static Specification<Task> authorIdIn(Set<Long> authorIds) {
+        if (authorIds == null || authorIds.isEmpty()) {
+            return null;
+        }
+        if (authorIds.size() == 1) {
+            return authorIdEquals(authorIds.iterator().next());
+        }
+
+        return (root, query, criteriaBuilder) -> anyOf(criteriaBuilder, root.get("authorId"),
+                authorIds.toArray(Long[]::new));
+    }
+
+    public static Specification<Task> statusIn(Set<TaskStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return null;
+        }
+        if (statuses.size() == 1) {
+            final TaskStatus status = statuses.iterator().next();
+            return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("status"), status);
+        }
+
+        return (root, query, criteriaBuilder) -> anyOf(criteriaBuilder, root.get("status"),
+                statuses.stream().map(TaskStatus::name).toArray(String[]::new));
+    }
+
+    public static Specification<Task> deadlineFrom(LocalDateTime deadlineFrom) {
+        if (deadlineFrom == null) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("deadline"),
+                deadlineFrom);
+    }
+
+    public static Specification<Task> deadlineTo(LocalDateTime deadlineTo) {
+        if (deadlineTo == null) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(root.get("deadline"), deadlineTo);
+    }
+
+    public static Specification<Task> createdFrom(LocalDateTime createdFrom) {
+        if (createdFrom == null) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"),
+                createdFrom);
+    }
+
+    public static Specification<Task> createdTo(LocalDateTime createdTo) {
+        if (createdTo == null) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(root.get("createdAt"), createdTo);
+    }
+
+    public static Specification<Task> epicIdEquals(Long epicId) {
+        if (epicId == null) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("epic").get("id"), epicId);
+    }
+
+    public static Specification<Task> withoutEpic(Boolean withoutEpic) {
+        if (!Boolean.TRUE.equals(withoutEpic)) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get("epic"));
+    }
+
+    /**
+     * Seek predicate for keyset pagination in the cursor's order. Every key is expressed as a leading range on it,
+     * so the database can start the index scan at the cursor instead of skipping rows. Tasks without deadline form
+     * their own segment of the deadline order, see {@link #nextSegment(TaskCursor)}.
+     */
+    public static Specification<Task> after(TaskCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        return (root, query, criteriaBuilder) -> {
+            final Sort.Direction direction = cursor.direction();
+            final Predicate afterId = direction.isAscending()
+                    ? criteriaBuilder.greaterThan(root.get("id"), cursor.id())
+                    : criteriaBuilder.lessThan(root.get("id"), cursor.id());
+            return switch (cursor.sort()) {
+                case CREATED_AT -> seek(criteriaBuilder, direction, root.<LocalDateTime>get("createdAt"),
+                        cursor.createdAt(), afterId);
+                case DEADLINE -> cursor.deadline() == null
+                        ? criteriaBuilder.and(criteriaBuilder.isNull(root.get("deadline")), afterId)
+                        : seek(criteriaBuilder, direction, root.<LocalDateTime>get("deadline"), cursor.deadline(),
+                        afterId);
+                case STATUS -> seek(criteriaBuilder, direction, root.<TaskStatus>get("status"), cursor.status(),
+                        seek(criteriaBuilder, direction, root.<LocalDateTime>get("createdAt"), cursor.createdAt(),
+                                afterId));
+                case ID -> afterId;
+            };
+        };
+    }
+
+    /**
+     * Tasks following the cursor's segment of the order: tasks without deadline come after the dated ones in
+     * ascending deadline order and before them in descending one, as the database orders nulls.
+     */
+    public static Specification<Task> nextSegment(TaskCursor cursor) {
+        if (cursor == null || cursor.sort() != TaskSort.DEADLINE) {
+            return null;
+        }
+        if (cursor.direction().isAscending() && cursor.deadline() != null) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get("deadline"));
+        }
+        if (cursor.direction().isDescending() && cursor.deadline() == null) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get("deadline"));
+        }
+        return null;
+    }
+
+    /**
+     * Values are bound as a single array parameter instead of an {@code in} list with a parameter per value, so the
+     * statement and its cached plan do not depend on the number of values. A criteria literal would be rendered
+     * inline, hence the Hibernate value parameter. A single value is compared with equality instead: a generic plan
+     * can not use {@code = any(?)} to fix the leading column of an ordered index scan.
+     */
+    private static Predicate anyOf(CriteriaBuilder criteriaBuilder, Expression<?> column, Object[] values) {
+        final HibernateCriteriaBuilder hibernateCriteriaBuilder = (HibernateCriteriaBuilder) criteriaBuilder;
+        return criteriaBuilder.isTrue(criteriaBuilder.function(TaskSearchFunctionContributor.ANY_OF, Boolean.class,
+                column, hibernateCriteriaBuilder.value(values)));
+    }
+
+    private static <T extends Comparable<? super T>> Predicate seek(CriteriaBuilder criteriaBuilder,
+                                                                     Sort.Direction direction, Expression<T> key,
+                                                                     T value, Predicate tie) {
+        return direction.isAscending()
+                ? criteriaBuilder.and(criteriaBuilder.greaterThanOrEqualTo(key, value),
+                criteriaBuilder.or(criteriaBuilder.greaterThan(key, value), tie))
+                : criteriaBuilder.and(criteriaBuilder.lessThanOrEqualTo(key, value),
+                criteriaBuilder.or(criteriaBuilder.lessThan(key, value), tie));
+    }
 }
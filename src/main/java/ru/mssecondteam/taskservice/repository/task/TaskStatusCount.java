@@ -0,0 +1,19 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+public record TaskStatusCount(
+
+        Long eventId,
+
+        Long groupId,
+
+        TaskStatus status,
+
+        Long tasks,
+
+        Long overdue,
+
+        Long upcoming
+) {
+}
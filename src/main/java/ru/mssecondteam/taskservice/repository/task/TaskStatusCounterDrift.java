@@ -0,0 +1,17 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+public record TaskStatusCounterDrift(
+
+        Long eventId,
+
+        Long epicId,
+
+        TaskStatus status,
+
+        Long counted,
+
+        Long actual
+) {
+}
@@ -0,0 +1,38 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Task counts per event, epic and status, kept up to date by the writers of tasks so that they are read without
+ * scanning tasks. Writers take a shared lock of the event before changing its counters and the reconciliation takes
+ * it exclusively, so a reconciled event never misses a change made by a transaction committing during reconciliation.
+ */
+public interface TaskStatusCounterRepository {
+
+    /**
+     * Locks the task row and returns the counter it is currently counted in, as committed, ignoring changes of the
+     * task entity that are not flushed yet.
+     */
+    Optional<TaskStatusKey> findStatusKeyForUpdate(Long taskId);
+
+    /**
+     * Moves a task from one counter to another in the current transaction. {@code from} is {@code null} for a new
+     * task and {@code to} is {@code null} for a deleted one.
+     */
+    void moveStatusCount(TaskStatusKey from, TaskStatusKey to);
+
+    /**
+     * Returns counts per event and status, and per epic when {@code byEpic} is set.
+     */
+    List<TaskStatusCount> findStatusCounts(Collection<Long> eventIds, boolean byEpic);
+
+    List<Long> findCountedEventIds();
+
+    /**
+     * Recounts tasks of the event, overwrites the counters that drifted and returns them. Must be called inside a
+     * transaction.
+     */
+    List<TaskStatusCounterDrift> reconcileStatusCounts(Long eventId);
+}
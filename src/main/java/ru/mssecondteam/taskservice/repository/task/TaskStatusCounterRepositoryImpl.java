@@ -0,0 +1,158 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+public class TaskStatusCounterRepositoryImpl implements TaskStatusCounterRepository {
+
+    /**
+     * Counters of tasks outside of epics are stored with this epic id, so that it can be a part of the primary key.
+     */
+    private static final long NO_EPIC = 0L;
+
+    private static final String LOCK_EVENT_SHARED =
+            "select 1 from pg_advisory_xact_lock_shared(hashtext('task_status_counters'), hashint8(:eventId))";
+
+    private static final String LOCK_EVENT =
+            "select 1 from pg_advisory_xact_lock(hashtext('task_status_counters'), hashint8(:eventId))";
+
+    private static final String ADD_COUNT = """
+            insert into task_status_counters (event_id, epic_id, status, task_count)
+            values (:eventId, :epicId, :status, :delta)
+            on conflict (event_id, epic_id, status)
+                do update set task_count = task_status_counters.task_count + excluded.task_count
+            """;
+
+    private static final String SET_COUNT = """
+            insert into task_status_counters (event_id, epic_id, status, task_count)
+            values (:eventId, :epicId, :status, :taskCount)
+            on conflict (event_id, epic_id, status) do update set task_count = excluded.task_count
+            """;
+
+    private static final String DRIFTED_COUNTS = """
+            select coalesce(a.epic_id, c.epic_id), coalesce(a.status, c.status), coalesce(c.task_count, 0),
+                   coalesce(a.task_count, 0)
+            from (select coalesce(t.epic_id, 0) as epic_id, t.status, count(*) as task_count
+                  from tasks t
+                  where t.event_id = :eventId
+                  group by 1, 2) a
+            full join (select c.epic_id, c.status, c.task_count
+                       from task_status_counters c
+                       where c.event_id = :eventId) c on c.epic_id = a.epic_id and c.status = a.status
+            where coalesce(c.task_count, 0) <> coalesce(a.task_count, 0)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<TaskStatusKey> findStatusKeyForUpdate(Long taskId) {
+        final List<Object[]> rows = entityManager.createNativeQuery(
+                        "select t.event_id, t.epic_id, t.status from tasks t where t.task_id = :taskId for update")
+                .setParameter("taskId", taskId)
+                .setFlushMode(FlushModeType.COMMIT)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new TaskStatusKey(toLong(row[0]), toLong(row[1]), TaskStatus.valueOf((String) row[2])));
+    }
+
+    @Override
+    public void moveStatusCount(TaskStatusKey from, TaskStatusKey to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        final TreeMap<TaskStatusKey, Long> deltas = new TreeMap<>(TaskStatusKey.ORDER);
+        if (from != null) {
+            deltas.merge(from, -1L, Long::sum);
+        }
+        if (to != null) {
+            deltas.merge(to, 1L, Long::sum);
+        }
+        deltas.keySet().stream()
+                .map(TaskStatusKey::eventId)
+                .distinct()
+                .forEach(eventId -> lockEvent(LOCK_EVENT_SHARED, eventId));
+        deltas.forEach((key, delta) -> entityManager.createNativeQuery(ADD_COUNT)
+                .setParameter("eventId", key.eventId())
+                .setParameter("epicId", key.epicId() == null ? NO_EPIC : key.epicId())
+                .setParameter("status", key.status().name())
+                .setParameter("delta", delta)
+                .executeUpdate());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<TaskStatusCount> findStatusCounts(Collection<Long> eventIds, boolean byEpic) {
+        final String epic = byEpic ? "c.epic_id" : "cast(null as bigint)";
+        final List<Object[]> rows = entityManager.createNativeQuery(
+                        "select c.event_id, " + epic + ", c.status, sum(c.task_count) " +
+                                "from task_status_counters c where c.event_id in (:eventIds) " +
+                                "group by 1, 2, 3 order by 1, 2, 3")
+                .setParameter("eventIds", eventIds)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new TaskStatusCount(toLong(row[0]), toEpicId(row[1]),
+                        TaskStatus.valueOf((String) row[2]), toLong(row[3]), null, null))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<Long> findCountedEventIds() {
+        final List<Object> rows = entityManager.createNativeQuery(
+                        "select t.event_id from tasks t union select c.event_id from task_status_counters c")
+                .getResultList();
+        return rows.stream()
+                .map(TaskStatusCounterRepositoryImpl::toLong)
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskStatusCounterDrift> reconcileStatusCounts(Long eventId) {
+        lockEvent(LOCK_EVENT, eventId);
+        final List<Object[]> rows = entityManager.createNativeQuery(DRIFTED_COUNTS)
+                .setParameter("eventId", eventId)
+                .getResultList();
+        final List<TaskStatusCounterDrift> drifts = rows.stream()
+                .map(row -> new TaskStatusCounterDrift(eventId, toEpicId(row[0]), TaskStatus.valueOf((String) row[1]),
+                        toLong(row[2]), toLong(row[3])))
+                .toList();
+        drifts.forEach(drift -> entityManager.createNativeQuery(SET_COUNT)
+                .setParameter("eventId", eventId)
+                .setParameter("epicId", drift.epicId() == null ? NO_EPIC : drift.epicId())
+                .setParameter("status", drift.status().name())
+                .setParameter("taskCount", drift.actual())
+                .executeUpdate());
+        return drifts;
+    }
+
+    private void lockEvent(String lock, Long eventId) {
+        entityManager.createNativeQuery(lock)
+                .setParameter("eventId", eventId)
+                .getSingleResult();
+    }
+
+    private static Long toEpicId(Object value) {
+        final Long epicId = toLong(value);
+        return epicId == null || epicId == NO_EPIC ? null : epicId;
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.util.Comparator;
+
+/**
+ * Status counter a task is counted in.
+ */
+public record TaskStatusKey(
+
+        Long eventId,
+
+        Long epicId,
+
+        TaskStatus status
+) {
+
+    public static final Comparator<TaskStatusKey> ORDER = Comparator.comparing(TaskStatusKey::eventId)
+            .thenComparing(TaskStatusKey::epicId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TaskStatusKey::status);
+
+    public static TaskStatusKey of(Task task) {
+        return new TaskStatusKey(task.getEventId(), task.getEpic() == null ? null : task.getEpic().getId(),
+                task.getStatus());
+    }
+}
@@ -2,33 +2,56 @@ package ru.mssecondteam.taskservice.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import ru.mssecondteam.taskservice.client.EventClient;
-import ru.mssecondteam.taskservice.dto.event.EventDto;
-import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
 import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+import ru.mssecondteam.taskservice.service.membership.EventMembership;
+import ru.mssecondteam.taskservice.service.membership.EventMembershipCache;
+import ru.mssecondteam.taskservice.service.membership.EventMembershipLoader;
+import ru.mssecondteam.taskservice.service.membership.EventTeamMember;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
 public class EventServiceHelper {
 
-    private final EventClient eventClient;
+    private final EventMembershipLoader membershipLoader;
+
+    private final EventMembershipCache membershipCache;
 
     public void checkIfEventExistsAndUsersAreEventTeamMembers(Long userId, Long eventId, Long teamMemberId) {
-        final EventDto event = eventClient.getEventById(userId, eventId).getBody();
-        final Set<Long> eventTeamMembersId = eventClient.getTeamsByEventId(userId, eventId).getBody().stream()
-                .map(TeamMemberDto::userId)
-                .collect(Collectors.toSet());
-        eventTeamMembersId.add(event.ownerId());
-
-        checkIfUserIsATeamMember(eventTeamMembersId, userId, eventId);
-        checkIfUserIsATeamMember(eventTeamMembersId, teamMemberId, eventId);
+        final EventMembership membership = membershipCache.get(eventId, id -> membershipLoader.load(userId, id));
+
+        checkIfUserIsATeamMember(membership, userId, eventId);
+        checkIfUserIsATeamMember(membership, teamMemberId, eventId);
+    }
+
+    public void checkIfEventsExistAndUsersAreEventTeamMembers(Long userId, Collection<EventTeamMember> teamMembers) {
+        final Set<Long> eventsIds = new TreeSet<>();
+        teamMembers.forEach(teamMember -> eventsIds.add(teamMember.eventId()));
+        final Map<Long, EventMembership> memberships = membershipCache.getAll(eventsIds,
+                ids -> membershipLoader.loadAll(userId, ids));
+
+        for (Long eventId : eventsIds) {
+            final EventMembership membership = memberships.get(eventId);
+            if (membership == null) {
+                final NotFoundException notFound = new NotFoundException(String.format("Event with id '%s' was not found",
+                        eventId));
+                membershipCache.putNotFound(eventId, notFound);
+                throw notFound;
+            }
+            checkIfUserIsATeamMember(membership, userId, eventId);
+        }
+        for (EventTeamMember teamMember : teamMembers) {
+            checkIfUserIsATeamMember(memberships.get(teamMember.eventId()), teamMember.userId(), teamMember.eventId());
+        }
     }
 
-    private void checkIfUserIsATeamMember(Set<Long> teamMembersIds, Long userId, Long eventId) {
-        if (!teamMembersIds.contains(userId)) {
+    private void checkIfUserIsATeamMember(EventMembership membership, Long userId, Long eventId) {
+        if (!membership.isTeamMember(userId)) {
             throw new NotAuthorizedException(String.format("User is with id '%s' not a team member for event with id '%s'",
                     userId, eventId));
         }
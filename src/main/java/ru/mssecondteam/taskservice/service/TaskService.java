@@ -1,10 +1,20 @@
 package ru.mssecondteam.taskservice.service;
 
+import org.springframework.data.domain.Sort;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskChangesDto;
+import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.dto.TaskStatsDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
 import ru.mssecondteam.taskservice.dto.TaskUpdateRequest;
 import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsGroupBy;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
@@ -12,9 +22,22 @@ public interface TaskService {
 
     Task updateTask(Long taskId, Long userId, TaskUpdateRequest updateRequest);
 
-    Task findTaskById(Long taskId);
+    TaskDto findTaskById(Long taskId);
 
-    List<Task> searchTasks(Integer page, Integer size, TaskSearchFilter searchFilter);
+    SearchResult<TaskDto> searchTasks(Integer page, Integer size, String cursor, boolean includeTotal,
+                                      TaskSearchFilter searchFilter, TaskSort sort, Sort.Direction direction);
+
+    SearchResult<TaskDto> searchTasksByText(String text, Integer size, String cursor, TaskSearchFilter searchFilter);
+
+    List<TaskSuggestionDto> suggestTasks(Long eventId, String text, Integer size);
+
+    void exportTasks(Long eventId, Consumer<TaskDto> consumer);
+
+    TaskChangesDto findChanges(Long eventId, String since, Integer size);
+
+    List<TaskStatsDto> getTaskStats(Set<Long> eventIds, TaskStatsGroupBy groupBy);
+
+    List<TaskStatsDto> getStatusCounts(Set<Long> eventIds, boolean byEpic);
 
     void deleteTaskById(Long taskId, Long userId);
 }
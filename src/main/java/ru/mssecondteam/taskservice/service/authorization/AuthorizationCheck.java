@@ -0,0 +1,24 @@
+package ru.mssecondteam.taskservice.service.authorization;
+
+public record AuthorizationCheck(
+
+        String stage,
+
+        Cost cost,
+
+        Runnable check
+) {
+
+    public static AuthorizationCheck local(String stage, Runnable check) {
+        return new AuthorizationCheck(stage, Cost.LOCAL, check);
+    }
+
+    public static AuthorizationCheck remote(String stage, Runnable check) {
+        return new AuthorizationCheck(stage, Cost.REMOTE, check);
+    }
+
+    public enum Cost {
+        LOCAL,
+        REMOTE
+    }
+}
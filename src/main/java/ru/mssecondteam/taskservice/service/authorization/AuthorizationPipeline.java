@@ -0,0 +1,44 @@
+package ru.mssecondteam.taskservice.service.authorization;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorizationPipeline {
+
+    private final MeterRegistry meterRegistry;
+
+    public void authorize(String operation, AuthorizationCheck... checks) {
+        final List<AuthorizationCheck> orderedChecks = Arrays.stream(checks)
+                .sorted(Comparator.comparing(AuthorizationCheck::cost))
+                .toList();
+        for (AuthorizationCheck check : orderedChecks) {
+            try {
+                check.check().run();
+            } catch (NotAuthorizedException | NotFoundException ex) {
+                rejections(operation, check.stage()).increment();
+                log.debug("Operation '{}' was rejected at stage '{}'", operation, check.stage());
+                throw ex;
+            }
+        }
+    }
+
+    private Counter rejections(String operation, String stage) {
+        return Counter.builder("authorization.rejections")
+                .description("Write operations rejected by an authorization stage")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
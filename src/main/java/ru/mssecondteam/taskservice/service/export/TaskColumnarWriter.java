@@ -0,0 +1,181 @@
+package ru.mssecondteam.taskservice.service.export;
+
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes tasks in a compact columnar format for analytics jobs. Rows are collected into batches of
+ * {@link #BATCH_SIZE} and every batch is written column by column:
+ * <pre>
+ * header  magic "TASKCOL", version byte,
+ *         status dictionary: entry count byte, then per entry a short length and the UTF-8 name
+ * batch   row count int, then the columns id, eventId, authorId, assigneeId, epicId, createdAt, deadline,
+ *         status, title, description
+ * end     row count 0
+ * </pre>
+ * Every column starts with a validity bitmap of {@code (rows + 7) / 8} bytes, bit {@code i % 8} of byte
+ * {@code i / 8} is set when row {@code i} is not null. Ids are longs, timestamps are longs of epoch milliseconds
+ * with the local date time taken as UTC, status is a byte index into the dictionary, strings are
+ * {@code rows + 1} int offsets followed by the UTF-8 data. Null values keep their slot filled with zero.
+ * All numbers are big-endian.
+ */
+public class TaskColumnarWriter implements Consumer<TaskDto>, Closeable {
+
+    public static final String MEDIA_TYPE = "application/vnd.task-columnar";
+
+    static final byte[] MAGIC = "TASKCOL".getBytes(StandardCharsets.US_ASCII);
+
+    static final byte VERSION = 1;
+
+    static final int BATCH_SIZE = 4096;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+
+    private final OutputStream output;
+
+    private final List<TaskDto> batch = new ArrayList<>(BATCH_SIZE);
+
+    private final byte[][] strings = new byte[BATCH_SIZE][];
+
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    public TaskColumnarWriter(OutputStream outputStream) throws IOException {
+        this.output = outputStream;
+        writeHeader();
+    }
+
+    @Override
+    public void accept(TaskDto task) {
+        batch.add(task);
+        if (batch.size() == BATCH_SIZE) {
+            try {
+                writeBatch();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!batch.isEmpty()) {
+            writeBatch();
+        }
+        buffer.putInt(0);
+        flush();
+        output.close();
+    }
+
+    private void writeHeader() throws IOException {
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        final TaskStatus[] statuses = TaskStatus.values();
+        buffer.put((byte) statuses.length);
+        for (TaskStatus status : statuses) {
+            final byte[] name = status.name().getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+        }
+        flush();
+    }
+
+    private void writeBatch() throws IOException {
+        final int rows = batch.size();
+        ensureCapacity(Integer.BYTES + 7 * (rows / 8 + 1 + rows * Long.BYTES) + rows / 8 + 1 + rows);
+        buffer.putInt(rows);
+        writeLongs(TaskDto::id);
+        writeLongs(TaskDto::eventId);
+        writeLongs(TaskDto::authorId);
+        writeLongs(TaskDto::assigneeId);
+        writeLongs(TaskDto::epicId);
+        writeLongs(task -> toEpochMilli(task.createdAt()));
+        writeLongs(task -> toEpochMilli(task.deadline()));
+        writeStatuses();
+        writeStrings(TaskDto::title);
+        writeStrings(TaskDto::description);
+        flush();
+        batch.clear();
+    }
+
+    private void writeValidity(Function<TaskDto, ?> column) {
+        int bits = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (column.apply(batch.get(i)) != null) {
+                bits |= 1 << (i & 7);
+            }
+            if ((i & 7) == 7 || i == batch.size() - 1) {
+                buffer.put((byte) bits);
+                bits = 0;
+            }
+        }
+    }
+
+    private void writeLongs(Function<TaskDto, Long> column) {
+        writeValidity(column);
+        for (TaskDto task : batch) {
+            final Long value = column.apply(task);
+            buffer.putLong(value == null ? 0 : value);
+        }
+    }
+
+    private void writeStatuses() {
+        writeValidity(TaskDto::status);
+        for (TaskDto task : batch) {
+            buffer.put((byte) (task.status() == null ? 0 : task.status().ordinal()));
+        }
+    }
+
+    private void writeStrings(Function<TaskDto, String> column) {
+        final int rows = batch.size();
+        int length = 0;
+        for (int i = 0; i < rows; i++) {
+            final String value = column.apply(batch.get(i));
+            strings[i] = value == null ? EMPTY : value.getBytes(StandardCharsets.UTF_8);
+            length += strings[i].length;
+        }
+        ensureCapacity(rows / 8 + 1 + (rows + 1) * Integer.BYTES + length);
+        writeValidity(column);
+        int offset = 0;
+        buffer.putInt(offset);
+        for (int i = 0; i < rows; i++) {
+            offset += strings[i].length;
+            buffer.putInt(offset);
+        }
+        for (int i = 0; i < rows; i++) {
+            buffer.put(strings[i]);
+            strings[i] = null;
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            buffer = grown.put(buffer);
+        }
+    }
+
+    private void flush() throws IOException {
+        output.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    private static Long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
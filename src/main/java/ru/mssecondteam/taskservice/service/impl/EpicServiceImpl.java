@@ -2,7 +2,10 @@ package ru.mssecondteam.taskservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.mssecondteam.taskservice.dto.epic.EpicUpdateRequest;
 import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
 import ru.mssecondteam.taskservice.exception.NotFoundException;
@@ -12,14 +15,26 @@ import ru.mssecondteam.taskservice.model.Epic;
 import ru.mssecondteam.taskservice.model.Task;
 import ru.mssecondteam.taskservice.repository.epic.EpicRepository;
 import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusKey;
 import ru.mssecondteam.taskservice.service.EpicService;
 import ru.mssecondteam.taskservice.service.EventServiceHelper;
+import ru.mssecondteam.taskservice.service.authorization.AuthorizationPipeline;
+import ru.mssecondteam.taskservice.service.search.TaskChangedEvent;
+
+import java.util.Optional;
+
+import static ru.mssecondteam.taskservice.service.authorization.AuthorizationCheck.local;
+import static ru.mssecondteam.taskservice.service.authorization.AuthorizationCheck.remote;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EpicServiceImpl implements EpicService {
 
+    private static final String MEMBERSHIP_STAGE = "event-membership";
+
+    private static final String EXECUTIVE_STAGE = "epic-executive";
+
     private final EpicRepository epicRepository;
 
     private final EpicMapper epicMapper;
@@ -28,9 +43,17 @@ public class EpicServiceImpl implements EpicService {
 
     private final EventServiceHelper eventServiceHelper;
 
+    private final AuthorizationPipeline authorizationPipeline;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PlatformTransactionManager transactionManager;
+
     @Override
     public Epic createEpic(Long userId, Epic epic) {
-        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, epic.getEventId(), epic.getExecutiveId());
+        authorizationPipeline.authorize("create-epic",
+                remote(MEMBERSHIP_STAGE, () -> eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId,
+                        epic.getEventId(), epic.getExecutiveId())));
         Epic createdEpic = epicRepository.save(epic);
         log.info("Epic with id '{}' was created", createdEpic.getId());
         return createdEpic;
@@ -39,8 +62,15 @@ public class EpicServiceImpl implements EpicService {
     @Override
     public Epic updateEpic(Long userId, Long epicId, EpicUpdateRequest updateRequest) {
         final Epic epic = getEpicById(epicId);
+        final Long executiveId = epic.getExecutiveId();
         epicMapper.updateEpic(updateRequest, epic);
-        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, epic.getEventId(), epic.getExecutiveId());
+        if (userId.equals(executiveId) && executiveId.equals(epic.getExecutiveId())) {
+            log.debug("Epic with id '{}' is updated by its executive, skipping membership check", epicId);
+        } else {
+            authorizationPipeline.authorize("update-epic",
+                    remote(MEMBERSHIP_STAGE, () -> eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(
+                            userId, epic.getEventId(), epic.getExecutiveId())));
+        }
         Epic updatedEpic = epicRepository.save(epic);
         log.info("Epic with id '{}' was updated", updatedEpic.getId());
         return updatedEpic;
@@ -49,12 +79,14 @@ public class EpicServiceImpl implements EpicService {
     @Override
     public Epic addTaskToEpic(Long userId, Long epicId, Long taskId) {
         final Epic epic = getEpicById(epicId);
-        checkIfUserCanModifyEpicsTasks(userId, epic);
+        authorizationPipeline.authorize("add-task-to-epic",
+                local(EXECUTIVE_STAGE, () -> checkIfUserCanModifyEpicsTasks(userId, epic)));
         final Task task = getTaskById(taskId);
         checkIfTaskAndEpicBelongsToTheSameEvent(epic, task);
         checkIfTaskIsAvailableForAdding(task, epic);
         epic.addTask(task);
-        Epic epicWithAddedTask = epicRepository.save(epic);
+        final Epic epicWithAddedTask = saveWithMovedTask(epic, task);
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getEventId()));
         log.info("Task with id '{}' was added to Epic with id '{}'", epicWithAddedTask.getId(), epicId);
         return epicWithAddedTask;
     }
@@ -62,11 +94,13 @@ public class EpicServiceImpl implements EpicService {
     @Override
     public Epic deleteTaskFromEpic(Long userId, Long epicId, Long taskId) {
         final Epic epic = getEpicById(epicId);
-        checkIfUserCanModifyEpicsTasks(userId, epic);
+        authorizationPipeline.authorize("delete-task-from-epic",
+                local(EXECUTIVE_STAGE, () -> checkIfUserCanModifyEpicsTasks(userId, epic)));
         final Task task = getTaskById(taskId);
         checkIfTaskBelongsToEpic(task, epic);
         epic.removeTask(task);
-        final Epic epicWithDeletedTask = epicRepository.save(epic);
+        final Epic epicWithDeletedTask = saveWithMovedTask(epic, task);
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getEventId()));
         log.info("Task with id '{}' was deleted from Epic with id '{}'", task.getId(), epicId);
         return epicWithDeletedTask;
     }
@@ -79,6 +113,15 @@ public class EpicServiceImpl implements EpicService {
     }
 
 
+    private Epic saveWithMovedTask(Epic epic, Task task) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            final Optional<TaskStatusKey> counted = taskRepository.findStatusKeyForUpdate(task.getId());
+            final Epic savedEpic = epicRepository.save(epic);
+            counted.ifPresent(key -> taskRepository.moveStatusCount(key, TaskStatusKey.of(task)));
+            return savedEpic;
+        });
+    }
+
     private Epic getEpicById(Long epicId) {
         return epicRepository.findById(epicId)
                 .orElseThrow(() -> new NotFoundException(String.format("Epic with id '%s' was not found", epicId)));
@@ -2,45 +2,109 @@ package ru.mssecondteam.taskservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.mssecondteam.taskservice.client.EventClient;
+import ru.mssecondteam.taskservice.config.TaskStatsProperties;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskChangesDto;
+import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.dto.TaskStatsDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
 import ru.mssecondteam.taskservice.dto.TaskUpdateRequest;
 import ru.mssecondteam.taskservice.dto.event.EventDto;
 import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
+import ru.mssecondteam.taskservice.exception.BadRequestException;
 import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
 import ru.mssecondteam.taskservice.exception.NotFoundException;
 import ru.mssecondteam.taskservice.mapper.TaskMapper;
 import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.repository.task.RankedTask;
+import ru.mssecondteam.taskservice.repository.task.TaskChange;
 import ru.mssecondteam.taskservice.repository.task.TaskRepository;
 import ru.mssecondteam.taskservice.repository.task.TaskSpecification;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusKey;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusCount;
 import ru.mssecondteam.taskservice.service.EventServiceHelper;
 import ru.mssecondteam.taskservice.service.TaskService;
+import ru.mssecondteam.taskservice.service.authorization.AuthorizationPipeline;
+import ru.mssecondteam.taskservice.service.search.TaskChangeCursor;
+import ru.mssecondteam.taskservice.service.search.TaskChangedEvent;
+import ru.mssecondteam.taskservice.service.search.TaskCursor;
+import ru.mssecondteam.taskservice.service.search.TaskSearchCache;
+import ru.mssecondteam.taskservice.service.search.TaskSearchKey;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+import ru.mssecondteam.taskservice.service.search.TaskTextCursor;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsCache;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsGroupBy;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.mssecondteam.taskservice.service.authorization.AuthorizationCheck.local;
+import static ru.mssecondteam.taskservice.service.authorization.AuthorizationCheck.remote;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TaskServiceImpl implements TaskService {
 
+    private static final String MEMBERSHIP_STAGE = "event-membership";
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
     private final TaskRepository taskRepository;
 
     private final TaskMapper taskMapper;
 
     private final EventServiceHelper eventServiceHelper;
 
+    private final AuthorizationPipeline authorizationPipeline;
+
+    private final TaskSearchCache taskSearchCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final TaskStatsCache taskStatsCache;
+
+    private final TaskStatsProperties taskStatsProperties;
+
     @Override
     public Task createTask(Long userId, Task task) {
-        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, task.getEventId(), task.getAssigneeId());
+        authorizationPipeline.authorize("create-task",
+                remote(MEMBERSHIP_STAGE, () -> eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId,
+                        task.getEventId(), task.getAssigneeId())));
         task.setAuthorId(userId);
-        Task createdTask = taskRepository.save(task);
+        final Task createdTask = inTransaction(() -> {
+            final Task savedTask = taskRepository.save(task);
+            taskRepository.moveStatusCount(null, TaskStatusKey.of(savedTask));
+            return savedTask;
+        });
+        eventPublisher.publishEvent(new TaskChangedEvent(createdTask.getEventId()));
         log.info("Task with '{}' was created", createdTask.getId());
         return createdTask;
     }
@@ -48,37 +112,227 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Task updateTask(Long taskId, Long userId, TaskUpdateRequest updateRequest) {
         final Task task = getTaskById(taskId);
-        checkIfUserCanModifyTask(taskId, userId, task);
+        authorizationPipeline.authorize("update-task",
+                local("task-author-or-assignee", () -> checkIfUserCanModifyTask(taskId, userId, task)));
+        final Long eventId = task.getEventId();
+        final Long assigneeId = task.getAssigneeId();
         taskMapper.updateTask(updateRequest, task);
-        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, task.getEventId(), task.getAssigneeId());
-        Task updatedTask = taskRepository.save(task);
+        if (Objects.equals(eventId, task.getEventId()) && Objects.equals(assigneeId, task.getAssigneeId())) {
+            log.debug("Event and assignee of task with id '{}' are unchanged, skipping membership check", taskId);
+        } else {
+            authorizationPipeline.authorize("update-task",
+                    remote(MEMBERSHIP_STAGE, () -> eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(
+                            userId, task.getEventId(), task.getAssigneeId())));
+        }
+        final Task updatedTask = inTransaction(() -> {
+            final Optional<TaskStatusKey> counted = taskRepository.findStatusKeyForUpdate(taskId);
+            final Task savedTask = taskRepository.save(task);
+            counted.ifPresent(key -> taskRepository.moveStatusCount(key, TaskStatusKey.of(savedTask)));
+            return savedTask;
+        });
+        eventPublisher.publishEvent(new TaskChangedEvent(eventId));
+        if (!Objects.equals(eventId, updatedTask.getEventId())) {
+            eventPublisher.publishEvent(new TaskChangedEvent(updatedTask.getEventId()));
+        }
         log.info("Task with id '{}' was updated", updatedTask.getId());
         return updatedTask;
     }
 
     @Override
-    public Task findTaskById(Long taskId) {
-        final Task task = getTaskById(taskId);
+    @Transactional(readOnly = true)
+    public TaskDto findTaskById(Long taskId) {
+        final TaskDto task = taskRepository.findDtoById(taskId)
+                .orElseThrow(() -> new NotFoundException(String.format("Task with id '%s' was not found", taskId)));
         log.debug("Task with id '{}' was found", taskId);
         return task;
     }
 
     @Override
-    public List<Task> searchTasks(Integer page, Integer size, TaskSearchFilter searchFilter) {
-        final Pageable pageable = PageRequest.of(page, size);
-        final List<Specification<Task>> specifications = searchFilterToSpecificationList(searchFilter);
-        final Specification<Task> resultSpec = specifications.stream().reduce(Specification::and).orElse(null);
-        final List<Task> tasks = taskRepository.findAll(resultSpec, pageable).getContent();
-        log.debug("Found '{}' tasks", tasks.size());
-        return tasks;
+    public SearchResult<TaskDto> searchTasks(Integer page, Integer size, String cursor, boolean includeTotal,
+                                             TaskSearchFilter searchFilter, TaskSort sort, Sort.Direction direction) {
+        if (cursor == null && (long) page * size + size + 1 > Integer.MAX_VALUE) {
+            throw new BadRequestException(String.format("Page '%d' of size '%d' is too far, use the cursor instead",
+                    page, size));
+        }
+        final List<TaskSearchFilter> indexedFilters = sort.splitForIndex(searchFilter);
+        final TaskSearchKey key = TaskSearchKey.of(page, size, cursor, includeTotal, searchFilter, sort, direction);
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return taskSearchCache.get(key, () -> transaction.execute(status -> findTasks(page, size, cursor,
+                includeTotal, searchFilter, indexedFilters, sort, direction)));
+    }
+
+    private SearchResult<TaskDto> findTasks(Integer page, Integer size, String cursor, boolean includeTotal,
+                                            TaskSearchFilter searchFilter, List<TaskSearchFilter> indexedFilters,
+                                            TaskSort sort, Sort.Direction direction) {
+        final Sort order = sort.toSort(direction);
+        final Specification<Task> resultSpec = toSpecification(searchFilter);
+        final List<Specification<Task>> indexedSpecs = indexedFilters.size() == 1
+                ? Collections.singletonList(resultSpec)
+                : indexedFilters.stream().map(this::toSpecification).toList();
+        final List<TaskDto> tasks;
+        if (cursor == null) {
+            tasks = findSlice(indexedSpecs, null, order, (long) page * size, size + 1);
+        } else {
+            final TaskCursor after = TaskCursor.decode(cursor, sort, direction);
+            tasks = new ArrayList<>(findSlice(indexedSpecs, TaskSpecification.after(after), order, 0, size + 1));
+            final Specification<Task> nextSegment = TaskSpecification.nextSegment(after);
+            if (tasks.size() <= size && nextSegment != null) {
+                tasks.addAll(findSlice(indexedSpecs, nextSegment, order, 0, size + 1 - tasks.size()));
+            }
+        }
+        final boolean hasNext = tasks.size() > size;
+        final List<TaskDto> content = hasNext ? tasks.subList(0, size) : tasks;
+        final String nextCursor = hasNext
+                ? TaskCursor.of(content.get(content.size() - 1), sort, direction).encode()
+                : null;
+        final Long total = includeTotal ? taskRepository.count(resultSpec) : null;
+        log.debug("Found '{}' tasks", content.size());
+        return new SearchResult<>(content, nextCursor, total);
+    }
+
+    /**
+     * Reads the slice with one ordered index scan per specification, merged by the database when there are several.
+     */
+    private List<TaskDto> findSlice(List<Specification<Task>> specs, Specification<Task> seek, Sort order,
+                                    long offset, int limit) {
+        final List<Specification<Task>> seekingSpecs = seek == null ? specs
+                : specs.stream().map(spec -> Specification.where(spec).and(seek)).toList();
+        if (seekingSpecs.size() == 1) {
+            return taskRepository.findSlice(seekingSpecs.get(0), order, offset, limit);
+        }
+        return taskRepository.findMergedSlice(seekingSpecs, order, offset, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResult<TaskDto> searchTasksByText(String text, Integer size, String cursor,
+                                                   TaskSearchFilter searchFilter) {
+        final Specification<Task> resultSpec = toSpecification(searchFilter);
+        final TaskTextCursor textCursor = cursor == null ? null : TaskTextCursor.decode(cursor);
+        final List<RankedTask> rankedTasks = taskRepository.findByText(text, resultSpec, textCursor, size + 1);
+        final boolean hasNext = rankedTasks.size() > size;
+        final List<RankedTask> page = hasNext ? rankedTasks.subList(0, size) : rankedTasks;
+        final String nextCursor = hasNext ? TaskTextCursor.of(page.get(page.size() - 1)).encode() : null;
+        log.debug("Found '{}' tasks by text '{}'", page.size(), text);
+        return new SearchResult<>(page.stream().map(RankedTask::task).toList(), nextCursor, null);
+    }
+
+    @Override
+    public List<TaskSuggestionDto> suggestTasks(Long eventId, String text, Integer size) {
+        final List<TaskSuggestionDto> suggestions = taskRepository.suggestByTitle(eventId, text.strip(), size);
+        log.debug("Found '{}' task suggestions for text '{}' in event with id '{}'", suggestions.size(), text,
+                eventId);
+        return suggestions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Long eventId, Consumer<TaskDto> consumer) {
+        try (Stream<TaskDto> tasks = taskRepository.streamByEventId(eventId, EXPORT_FETCH_SIZE)) {
+            tasks.forEach(consumer);
+        }
+        log.debug("Tasks of event with id '{}' were exported", eventId);
+    }
+
+    @Override
+    public List<TaskStatsDto> getTaskStats(Set<Long> eventIds, TaskStatsGroupBy groupBy) {
+        return taskStatsCache.get(eventIds, groupBy, () -> countTasks(eventIds, groupBy));
+    }
+
+    @Override
+    public List<TaskStatsDto> getStatusCounts(Set<Long> eventIds, boolean byEpic) {
+        final TaskStatsGroupBy groupBy = byEpic ? TaskStatsGroupBy.EPIC : null;
+        return toStats(taskRepository.findStatusCounts(eventIds, byEpic), groupBy);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public TaskChangesDto findChanges(Long eventId, String since, Integer size) {
+        final TaskChangeCursor sinceCursor = since == null ? TaskChangeCursor.START : TaskChangeCursor.decode(since);
+        if (since != null && sinceCursor.changeVersion() < taskRepository.findTombstoneHorizon()) {
+            throw new BadRequestException(String.format("Change version '%s' has expired, start over without since",
+                    since));
+        }
+        final List<TaskChange> changes = taskRepository.findChanges(eventId, sinceCursor, size + 1);
+        final boolean hasMore = changes.size() > size;
+        final List<TaskChange> page = hasMore ? changes.subList(0, size) : changes;
+        final List<Long> changedTaskIds = page.stream()
+                .filter(change -> !change.removed())
+                .map(TaskChange::taskId)
+                .toList();
+        final Map<Long, TaskDto> changedTasks = changedTaskIds.isEmpty()
+                ? Map.of()
+                : taskRepository.findDtoByIdIn(changedTaskIds).stream()
+                        .collect(Collectors.toMap(TaskDto::id, Function.identity()));
+        final TaskChangeCursor nextCursor = page.isEmpty() ? sinceCursor : TaskChangeCursor.of(page.getLast());
+        log.debug("Found '{}' changes of tasks of event with id '{}'", page.size(), eventId);
+        return TaskChangesDto.builder()
+                .tasks(changedTaskIds.stream().map(changedTasks::get).toList())
+                .removedTaskIds(page.stream().filter(TaskChange::removed).map(TaskChange::taskId).toList())
+                .nextSince(nextCursor.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private List<TaskStatsDto> countTasks(Set<Long> eventIds, TaskStatsGroupBy groupBy) {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<TaskStatusCount> counts = taskRepository.countByStatus(eventIds, groupBy, now,
+                now.plus(taskStatsProperties.upcomingWindow()));
+        final List<TaskStatsDto> stats = toStats(counts, groupBy);
+        log.debug("Counted tasks of events with ids '{}' in '{}' groups", eventIds, stats.size());
+        return stats;
+    }
+
+    private static List<TaskStatsDto> toStats(List<TaskStatusCount> counts, TaskStatsGroupBy groupBy) {
+        final Map<List<Long>, List<TaskStatusCount>> groups = counts.stream()
+                .collect(Collectors.groupingBy(count -> Arrays.asList(count.eventId(), count.groupId()),
+                        LinkedHashMap::new, Collectors.toList()));
+        final List<TaskStatsDto> stats = new ArrayList<>(groups.size());
+        groups.forEach((group, groupCounts) -> {
+            final Map<TaskStatus, Long> statusCounts = new EnumMap<>(TaskStatus.class);
+            Arrays.stream(TaskStatus.values()).forEach(status -> statusCounts.put(status, 0L));
+            Long overdue = null;
+            Long upcoming = null;
+            for (TaskStatusCount count : groupCounts) {
+                statusCounts.put(count.status(), count.tasks());
+                if (count.overdue() != null) {
+                    final boolean open = count.status() == TaskStatus.TODO || count.status() == TaskStatus.IN_PROGRESS;
+                    overdue = (overdue == null ? 0 : overdue) + (open ? count.overdue() : 0);
+                    upcoming = (upcoming == null ? 0 : upcoming) + (open ? count.upcoming() : 0);
+                }
+            }
+            stats.add(TaskStatsDto.builder()
+                    .eventId(group.get(0))
+                    .assigneeId(groupBy == TaskStatsGroupBy.ASSIGNEE ? group.get(1) : null)
+                    .epicId(groupBy == TaskStatsGroupBy.EPIC ? group.get(1) : null)
+                    .statusCounts(statusCounts)
+                    .total(statusCounts.values().stream().mapToLong(Long::longValue).sum())
+                    .overdue(overdue)
+                    .upcoming(upcoming)
+                    .build());
+        });
+        return stats;
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
     }
 
     @Override
     public void deleteTaskById(Long taskId, Long userId) {
         final Task task = getTaskById(taskId);
-        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, task.getEventId(), task.getAssigneeId());
-        checkIfUserCanDeleteTask(taskId, userId, task);
-        taskRepository.deleteById(taskId);
+        authorizationPipeline.authorize("delete-task",
+                local("task-author", () -> checkIfUserCanDeleteTask(taskId, userId, task)),
+                remote(MEMBERSHIP_STAGE, () -> eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId,
+                        task.getEventId(), task.getAssigneeId())));
+        inTransaction(() -> {
+            final Optional<TaskStatusKey> counted = taskRepository.findStatusKeyForUpdate(taskId);
+            taskRepository.deleteById(taskId);
+            counted.ifPresent(key -> taskRepository.moveStatusCount(key, null));
+            return null;
+        });
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getEventId()));
         log.info("Task with id '{}' was deleted", taskId);
     }
 
@@ -101,11 +355,25 @@ public class TaskServiceImpl implements TaskService {
         }
     }
 
+    private Specification<Task> toSpecification(TaskSearchFilter searchFilter) {
+        return searchFilterToSpecificationList(searchFilter).stream().reduce(Specification::and).orElse(null);
+    }
+
     private List<Specification<Task>> searchFilterToSpecificationList(TaskSearchFilter searchFilter) {
         List<Specification<Task>> resultList = new ArrayList<>();
         resultList.add(TaskSpecification.eventIdEquals(searchFilter.eventId()));
+        resultList.add(TaskSpecification.eventIdIn(searchFilter.eventIds()));
         resultList.add(TaskSpecification.assigneeIdEquals(searchFilter.assigneeId()));
+        resultList.add(TaskSpecification.assigneeIdIn(searchFilter.assigneeIds()));
         resultList.add(TaskSpecification.authorIdEquals(searchFilter.authorId()));
+        resultList.add(TaskSpecification.authorIdIn(searchFilter.authorIds()));
+        resultList.add(TaskSpecification.statusIn(searchFilter.statuses()));
+        resultList.add(TaskSpecification.deadlineFrom(searchFilter.deadlineFrom()));
+        resultList.add(TaskSpecification.deadlineTo(searchFilter.deadlineTo()));
+        resultList.add(TaskSpecification.createdFrom(searchFilter.createdFrom()));
+        resultList.add(TaskSpecification.createdTo(searchFilter.createdTo()));
+        resultList.add(TaskSpecification.epicIdEquals(searchFilter.epicId()));
+        resultList.add(TaskSpecification.withoutEpic(searchFilter.withoutEpic()));
         return resultList.stream().filter(Objects::nonNull).toList();
     }
 }
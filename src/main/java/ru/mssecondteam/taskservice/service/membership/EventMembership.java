@@ -0,0 +1,44 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.EventTeamDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
+
+import java.util.Collection;
+import java.util.List;
+
+public record EventMembership(
+
+        Long eventId,
+
+        Long ownerId,
+
+        TeamMemberIds teamMembersIds
+) {
+
+    public static EventMembership of(Long eventId, EventDto event, List<TeamMemberDto> teamMembers) {
+        return of(eventId, event.ownerId(), userIds(teamMembers));
+    }
+
+    public static EventMembership of(EventTeamDto eventTeam) {
+        return of(eventTeam.eventId(), eventTeam.ownerId(), userIds(eventTeam.teamMembers()));
+    }
+
+    public static EventMembership of(Long eventId, Long ownerId, Collection<Long> teamMembersIds) {
+        final long[] membersIds = new long[teamMembersIds.size() + 1];
+        int size = 0;
+        for (Long teamMemberId : teamMembersIds) {
+            membersIds[size++] = teamMemberId;
+        }
+        membersIds[size++] = ownerId;
+        return new EventMembership(eventId, ownerId, TeamMemberIds.of(membersIds, size));
+    }
+
+    public boolean isTeamMember(Long userId) {
+        return userId != null && teamMembersIds.contains(userId);
+    }
+
+    private static List<Long> userIds(List<TeamMemberDto> teamMembers) {
+        return teamMembers.stream().map(TeamMemberDto::userId).toList();
+    }
+}
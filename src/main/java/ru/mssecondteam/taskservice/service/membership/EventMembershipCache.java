@@ -0,0 +1,160 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.mssecondteam.taskservice.config.MembershipCacheProperties;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class EventMembershipCache {
+
+    private final boolean enabled;
+
+    private final Cache<Long, EventMembership> memberships;
+
+    private final Cache<Long, NotFoundException> notFoundEvents;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EventMembershipCache(MembershipCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        this.notFoundEvents = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.notFoundTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memberships, "event.membership");
+        CaffeineCacheMetrics.monitor(meterRegistry, notFoundEvents, "event.membership.not-found");
+    }
+
+    public EventMembership get(Long eventId, Function<Long, EventMembership> loader) {
+        if (!enabled) {
+            return loader.apply(eventId);
+        }
+        final NotFoundException notFound = notFoundEvents.getIfPresent(eventId);
+        if (notFound != null) {
+            throw new NotFoundException(notFound.getMessage());
+        }
+        final EventMembership cached = memberships.getIfPresent(eventId);
+        if (cached != null) {
+            return cached;
+        }
+        final long generation = invalidations.get();
+        try {
+            final EventMembership loaded = loader.apply(eventId);
+            putIfNotInvalidated(eventId, loaded, generation);
+            return loaded;
+        } catch (NotFoundException ex) {
+            if (invalidations.get() == generation) {
+                notFoundEvents.put(eventId, ex);
+            }
+            throw ex;
+        }
+    }
+
+    public Map<Long, EventMembership> getAll(Collection<Long> eventIds,
+                                             Function<Set<Long>, Map<Long, EventMembership>> loader) {
+        if (!enabled) {
+            return loader.apply(Set.copyOf(eventIds));
+        }
+        final Map<Long, EventMembership> result = new HashMap<>();
+        final Set<Long> missingEventsIds = new HashSet<>();
+        for (Long eventId : eventIds) {
+            final NotFoundException notFound = notFoundEvents.getIfPresent(eventId);
+            if (notFound != null) {
+                throw new NotFoundException(notFound.getMessage());
+            }
+            final EventMembership cached = memberships.getIfPresent(eventId);
+            if (cached != null) {
+                result.put(eventId, cached);
+            } else {
+                missingEventsIds.add(eventId);
+            }
+        }
+        if (!missingEventsIds.isEmpty()) {
+            final long generation = invalidations.get();
+            final Map<Long, EventMembership> loaded = loader.apply(missingEventsIds);
+            loaded.forEach((eventId, membership) -> putIfNotInvalidated(eventId, membership, generation));
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    public void putNotFound(Long eventId, NotFoundException notFound) {
+        if (enabled) {
+            notFoundEvents.put(eventId, notFound);
+        }
+    }
+
+    public Optional<EventMembership> find(Long eventId) {
+        return Optional.ofNullable(memberships.asMap().get(eventId));
+    }
+
+    public void update(EventMembership membership) {
+        if (!enabled) {
+            return;
+        }
+        memberships.asMap().compute(membership.eventId(), (eventId, current) -> {
+            invalidations.incrementAndGet();
+            return membership;
+        });
+        notFoundEvents.invalidate(membership.eventId());
+        log.debug("Membership of event with id '{}' was updated in cache", membership.eventId());
+    }
+
+    public void invalidate(Long eventId) {
+        memberships.asMap().compute(eventId, (id, current) -> {
+            invalidations.incrementAndGet();
+            return null;
+        });
+        notFoundEvents.invalidate(eventId);
+        log.debug("Membership of event with id '{}' was evicted from cache", eventId);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        memberships.invalidateAll();
+        notFoundEvents.invalidateAll();
+        log.info("Event membership cache was flushed");
+    }
+
+    public Map<String, Object> statistics() {
+        final CacheStats stats = memberships.stats();
+        final Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("size", memberships.estimatedSize());
+        statistics.put("notFoundSize", notFoundEvents.estimatedSize());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("evictionCount", stats.evictionCount());
+        statistics.put("notFoundHitCount", notFoundEvents.stats().hitCount());
+        return statistics;
+    }
+
+    private void putIfNotInvalidated(Long eventId, EventMembership membership, long generation) {
+        memberships.asMap().compute(eventId,
+                (id, current) -> invalidations.get() == generation ? membership : current);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "membershipcache")
+@RequiredArgsConstructor
+public class EventMembershipCacheEndpoint {
+
+    private final EventMembershipCache membershipCache;
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        return membershipCache.statistics();
+    }
+
+    @ReadOperation
+    public EventMembership membership(@Selector Long eventId) {
+        return membershipCache.find(eventId).orElse(null);
+    }
+
+    @DeleteOperation
+    public void flush() {
+        membershipCache.invalidateAll();
+    }
+
+    @DeleteOperation
+    public void evict(@Selector Long eventId) {
+        membershipCache.invalidate(eventId);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.mssecondteam.taskservice.client.EventClient;
+import ru.mssecondteam.taskservice.client.EventClientGuard;
+import ru.mssecondteam.taskservice.client.EventEndpoint;
+import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.EventTeamDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
+import ru.mssecondteam.taskservice.exception.EventServiceUnavailableException;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+@Component
+public class EventMembershipLoader {
+
+    private static final int MAX_EVENTS_PER_CALL = 100;
+
+    private final EventClient eventClient;
+
+    private final EventClientGuard eventClientGuard;
+
+    private final StaleMembershipStore staleMemberships;
+
+    /**
+     * Loads of an event shared by concurrent users: the event and its team are the same for everyone, but the event
+     * service authorizes the user of each call, so users that joined a load rejected for its user load themselves.
+     */
+    private final SingleFlight<Long, EventMembership> loads;
+
+    public EventMembershipLoader(EventClient eventClient,
+                                 EventClientGuard eventClientGuard,
+                                 StaleMembershipStore staleMemberships,
+                                 MeterRegistry meterRegistry) {
+        this.eventClient = eventClient;
+        this.eventClientGuard = eventClientGuard;
+        this.staleMemberships = staleMemberships;
+        this.loads = new SingleFlight<>("event.membership", meterRegistry);
+    }
+
+    public EventMembership load(Long userId, Long eventId) {
+        try {
+            return loads.execute(eventId, () -> fetch(userId, eventId), NotAuthorizedException.class::isInstance);
+        } catch (EventServiceUnavailableException ex) {
+            if (!isRejected(ex)) {
+                throw ex;
+            }
+            return staleMemberships.fallback(eventId).orElseThrow(() -> ex);
+        }
+    }
+
+    public Map<Long, EventMembership> loadAll(Long userId, Collection<Long> eventIds) {
+        final List<Long> sortedEventIds = eventIds.stream().sorted().toList();
+        final Map<Long, EventMembership> memberships = new HashMap<>();
+        for (int from = 0; from < sortedEventIds.size(); from += MAX_EVENTS_PER_CALL) {
+            final List<Long> chunk = sortedEventIds.subList(from,
+                    Math.min(from + MAX_EVENTS_PER_CALL, sortedEventIds.size()));
+            memberships.putAll(fetchChunk(userId, chunk));
+        }
+        return memberships;
+    }
+
+    private EventMembership fetch(Long userId, Long eventId) {
+        final long generation = staleMemberships.generation();
+        final CompletableFuture<ResponseEntity<EventDto>> event = eventClientGuard.submit(EventEndpoint.EVENT,
+                () -> eventClient.getEventById(userId, eventId));
+        CompletableFuture<ResponseEntity<List<TeamMemberDto>>> teamMembers = null;
+        try {
+            teamMembers = eventClientGuard.submit(EventEndpoint.TEAM,
+                    () -> eventClient.getTeamsByEventId(userId, eventId));
+            awaitAll(event, teamMembers);
+            final EventMembership membership = EventMembership.of(eventId, event.get().getBody(),
+                    teamMembers.get().getBody());
+            staleMemberships.putIfNotInvalidated(membership, generation);
+            return membership;
+        } catch (ExecutionException ex) {
+            throw propagate(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(String.format("Interrupted while loading team of event with id '%s'",
+                    eventId), ex);
+        } finally {
+            event.cancel(true);
+            if (teamMembers != null) {
+                teamMembers.cancel(true);
+            }
+        }
+    }
+
+    private Map<Long, EventMembership> fetchChunk(Long userId, List<Long> eventIds) {
+        final Map<Long, EventMembership> memberships = new HashMap<>();
+        final long generation = staleMemberships.generation();
+        try {
+            final CompletableFuture<ResponseEntity<List<EventTeamDto>>> eventTeams = eventClientGuard.submit(
+                    EventEndpoint.BULK_TEAM, () -> eventClient.getTeamsByEventIds(userId, eventIds));
+            try {
+                for (EventTeamDto eventTeam : eventTeams.get().getBody()) {
+                    final EventMembership membership = EventMembership.of(eventTeam);
+                    staleMemberships.putIfNotInvalidated(membership, generation);
+                    memberships.put(eventTeam.eventId(), membership);
+                }
+            } finally {
+                eventTeams.cancel(true);
+            }
+            return memberships;
+        } catch (ExecutionException ex) {
+            throw propagate(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading teams of events", ex);
+        } catch (EventServiceUnavailableException ex) {
+            if (!isRejected(ex)) {
+                throw ex;
+            }
+            for (Long eventId : eventIds) {
+                final Optional<EventMembership> stale = staleMemberships.fallback(eventId);
+                memberships.put(eventId, stale.orElseThrow(() -> ex));
+            }
+            return memberships;
+        }
+    }
+
+    private static void awaitAll(CompletableFuture<?>... calls) throws ExecutionException, InterruptedException {
+        final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> call : calls) {
+            call.whenComplete((value, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+        }
+        CompletableFuture.anyOf(CompletableFuture.allOf(calls), firstFailure).get();
+    }
+
+    private static boolean isRejected(EventServiceUnavailableException ex) {
+        return ex.getCause() instanceof CallNotPermittedException || ex.getCause() instanceof BulkheadFullException;
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Event service call failed", cause);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventMembershipSynchronizer {
+
+    private final EventMembershipCache membershipCache;
+
+    private final StaleMembershipStore staleMemberships;
+
+    public void update(EventMembership membership) {
+        membershipCache.update(membership);
+        staleMemberships.put(membership);
+        log.info("Membership of event with id '{}' was updated by event-service", membership.eventId());
+    }
+
+    public void invalidate(Long eventId) {
+        membershipCache.invalidate(eventId);
+        staleMemberships.invalidate(eventId);
+        log.info("Membership of event with id '{}' was invalidated by event-service", eventId);
+    }
+}
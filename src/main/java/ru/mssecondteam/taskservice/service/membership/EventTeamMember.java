@@ -0,0 +1,9 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+public record EventTeamMember(
+
+        Long eventId,
+
+        Long userId
+) {
+}
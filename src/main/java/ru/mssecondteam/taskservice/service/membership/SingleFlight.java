@@ -0,0 +1,87 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executedCalls;
+
+    private final Counter coalescedCalls;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executedCalls = Counter.builder("single.flight.calls")
+                .description("Calls executed by the caller that started them")
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("single.flight.calls")
+                .description("Calls saved by joining an identical call already in flight")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        return execute(key, call, failure -> false);
+    }
+
+    /**
+     * Same as {@link #execute(Object, Supplier)}, except that a caller that joined a call failed with a failure
+     * specific to the caller that started it, as told by {@code callerSpecific}, executes its own call instead.
+     */
+    public V execute(K key, Supplier<V> call, Predicate<RuntimeException> callerSpecific) {
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> existingFlight = inFlight.putIfAbsent(key, flight);
+        if (existingFlight != null) {
+            coalescedCalls.increment();
+            try {
+                return await(existingFlight);
+            } catch (RuntimeException ex) {
+                if (!callerSpecific.test(ex)) {
+                    throw ex;
+                }
+            }
+            executedCalls.increment();
+            return call.get();
+        }
+        executedCalls.increment();
+        try {
+            final V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for call in flight", ex);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import ru.mssecondteam.taskservice.config.EventClientResilienceProperties;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class StaleMembershipStore {
+
+    private final boolean enabled;
+
+    private final Cache<Long, EventMembership> memberships;
+
+    private final Counter fallbacks;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public StaleMembershipStore(EventClientResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.staleFallback().enabled();
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(properties.staleFallback().maximumSize())
+                .expireAfterWrite(properties.staleFallback().maxStaleness())
+                .build();
+        this.fallbacks = Counter.builder("event.membership.stale.fallbacks")
+                .description("Memberships served from the stale store while event-service was unavailable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Grows whenever a membership is updated or invalidated, taken before a load to tell whether its result is stale.
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public void put(EventMembership membership) {
+        if (enabled) {
+            memberships.asMap().compute(membership.eventId(), (eventId, current) -> {
+                invalidations.incrementAndGet();
+                return membership;
+            });
+        }
+    }
+
+    /**
+     * Stores a loaded membership unless a membership was updated or invalidated since the generation was taken.
+     */
+    public void putIfNotInvalidated(EventMembership membership, long generation) {
+        if (enabled) {
+            memberships.asMap().compute(membership.eventId(),
+                    (eventId, current) -> invalidations.get() == generation ? membership : current);
+        }
+    }
+
+    public Optional<EventMembership> fallback(Long eventId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        final Optional<EventMembership> membership = Optional.ofNullable(memberships.getIfPresent(eventId));
+        membership.ifPresent(ignored -> fallbacks.increment());
+        return membership;
+    }
+
+    public void invalidate(Long eventId) {
+        memberships.asMap().compute(eventId, (id, current) -> {
+            invalidations.incrementAndGet();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of team member ids held in a primitive open-addressing table (linear probing, Fibonacci
+ * hashing), so that teams of thousands of members are stored and looked up without boxing.
+ */
+public final class TeamMemberIds {
+
+    private static final long EMPTY = 0L;
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private final long[] table;
+
+    private final int shift;
+
+    private final boolean containsEmpty;
+
+    private final int size;
+
+    private TeamMemberIds(long[] ids, int length) {
+        final int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, length * 4 / 3)) << 1);
+        this.table = new long[capacity];
+        this.shift = Long.numberOfLeadingZeros(capacity - 1L);
+        boolean empty = false;
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            final long id = ids[i];
+            if (id == EMPTY) {
+                if (!empty) {
+                    empty = true;
+                    distinct++;
+                }
+            } else if (insert(id)) {
+                distinct++;
+            }
+        }
+        this.containsEmpty = empty;
+        this.size = distinct;
+    }
+
+    public static TeamMemberIds of(long... ids) {
+        return new TeamMemberIds(ids, ids.length);
+    }
+
+    public static TeamMemberIds of(Collection<Long> ids) {
+        final long[] values = new long[ids.size()];
+        int length = 0;
+        for (Long id : ids) {
+            values[length++] = id;
+        }
+        return new TeamMemberIds(values, length);
+    }
+
+    static TeamMemberIds of(long[] ids, int length) {
+        return new TeamMemberIds(ids, length);
+    }
+
+    public boolean contains(long id) {
+        if (id == EMPTY) {
+            return containsEmpty;
+        }
+        final int mask = table.length - 1;
+        for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+            final long current = table[slot];
+            if (current == id) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorted ids, also the JSON form of the set, e.g. in the membership cache actuator endpoint.
+     */
+    @JsonValue
+    public long[] toArray() {
+        final long[] ids = new long[size];
+        int i = 0;
+        if (containsEmpty) {
+            ids[i++] = EMPTY;
+        }
+        for (long id : table) {
+            if (id != EMPTY) {
+                ids[i++] = id;
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TeamMemberIds other) || size != other.size || containsEmpty != other.containsEmpty) {
+            return false;
+        }
+        for (long id : table) {
+            if (id != EMPTY && !other.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = containsEmpty ? 1 : 0;
+        for (long id : table) {
+            hash += Long.hashCode(id);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private boolean insert(long id) {
+        final int mask = table.length - 1;
+        for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+            final long current = table[slot];
+            if (current == id) {
+                return false;
+            }
+            if (current == EMPTY) {
+                table[slot] = id;
+                return true;
+            }
+        }
+    }
+
+    private int slot(long id) {
+        return (int) ((id * PHI) >>> shift);
+    }
+}
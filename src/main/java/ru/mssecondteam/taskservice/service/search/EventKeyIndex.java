@@ -0,0 +1,107 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Keys of a cache by the events their values were loaded from, so that a change of tasks of an event finds only the
+ * keys of that event. Keys not scoped to events are found by a change of any event.
+ * <p>
+ * Generations tell whether an event changed while a value was being loaded. They are counted per stripe of event ids
+ * to keep memory bounded, so a change of another event of the same stripe only costs one more load. A key must be
+ * indexed before its generation is compared, and the comparison and the cache write must happen in one atomic cache
+ * operation: then either the write sees the new generation, or the change finds the indexed key.
+ */
+public class EventKeyIndex<K> {
+
+    private static final int STRIPES = 1024;
+
+    private final Function<K, Set<Long>> events;
+
+    private final Map<Long, Set<K>> keysByEvent = new ConcurrentHashMap<>();
+
+    private final AtomicReference<Set<K>> unscopedKeys = new AtomicReference<>(ConcurrentHashMap.newKeySet());
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * @param events events a key is scoped to, {@code null} when it is not scoped to events
+     */
+    public EventKeyIndex(Function<K, Set<Long>> events) {
+        this.events = events;
+    }
+
+    /**
+     * Grows whenever one of the events of the key changes.
+     */
+    public long generation(K key) {
+        final Set<Long> eventIds = events.apply(key);
+        if (eventIds == null) {
+            return changes.get();
+        }
+        long generation = 0;
+        for (int stripe : stripes(eventIds)) {
+            generation += generations.get(stripe);
+        }
+        return generation;
+    }
+
+    public void add(K key) {
+        final Set<Long> eventIds = events.apply(key);
+        if (eventIds == null) {
+            unscopedKeys.get().add(key);
+            return;
+        }
+        eventIds.forEach(eventId -> keysByEvent.compute(eventId, (id, keys) -> {
+            final Set<K> eventKeys = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            eventKeys.add(key);
+            return eventKeys;
+        }));
+    }
+
+    public void remove(K key) {
+        final Set<Long> eventIds = events.apply(key);
+        if (eventIds == null) {
+            unscopedKeys.get().remove(key);
+            return;
+        }
+        eventIds.forEach(eventId -> keysByEvent.computeIfPresent(eventId, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        }));
+    }
+
+    /**
+     * Marks the event as changed and takes the keys that were loaded from it out of the index.
+     *
+     * @return keys to evict
+     */
+    public Set<K> invalidate(Long eventId) {
+        generations.incrementAndGet(stripe(eventId));
+        changes.incrementAndGet();
+        final Set<K> keys = new HashSet<>(unscopedKeys.getAndSet(ConcurrentHashMap.newKeySet()));
+        final Set<K> eventKeys = keysByEvent.remove(eventId);
+        if (eventKeys != null) {
+            keys.addAll(eventKeys);
+        }
+        return keys;
+    }
+
+    private static Set<Integer> stripes(Set<Long> eventIds) {
+        final Set<Integer> stripes = new HashSet<>();
+        eventIds.forEach(eventId -> stripes.add(stripe(eventId)));
+        return stripes;
+    }
+
+    private static int stripe(Long eventId) {
+        return Math.floorMod(eventId.hashCode(), STRIPES);
+    }
+}
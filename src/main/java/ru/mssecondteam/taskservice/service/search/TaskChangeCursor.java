@@ -0,0 +1,46 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import ru.mssecondteam.taskservice.exception.BadRequestException;
+import ru.mssecondteam.taskservice.repository.task.TaskChange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last returned change in the (change version, task id) order of the change feed, passed to clients
+ * as an opaque token.
+ */
+public record TaskChangeCursor(
+
+        Long changeVersion,
+
+        Long taskId
+) {
+
+    public static final TaskChangeCursor START = new TaskChangeCursor(-1L, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskChangeCursor of(TaskChange change) {
+        return new TaskChangeCursor(change.changeVersion(), change.taskId());
+    }
+
+    public static TaskChangeCursor decode(String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(value);
+            }
+            return new TaskChangeCursor(Long.valueOf(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(String.format("Invalid change version '%s'", cursor));
+        }
+    }
+
+    public String encode() {
+        final String value = changeVersion + SEPARATOR + taskId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
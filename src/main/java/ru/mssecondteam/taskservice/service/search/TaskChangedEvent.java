@@ -0,0 +1,10 @@
+package ru.mssecondteam.taskservice.service.search;
+
+/**
+ * Published after tasks of the event were created, modified or deleted.
+ */
+public record TaskChangedEvent(
+
+        Long eventId
+) {
+}
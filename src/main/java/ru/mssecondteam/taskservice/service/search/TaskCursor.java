@@ -0,0 +1,73 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import org.springframework.data.domain.Sort;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.exception.BadRequestException;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Sort keys of the last returned task in the search order, passed to clients as an opaque token. The cursor is bound
+ * to the order it was issued for.
+ */
+public record TaskCursor(
+
+        TaskSort sort,
+
+        Sort.Direction direction,
+
+        LocalDateTime createdAt,
+
+        LocalDateTime deadline,
+
+        TaskStatus status,
+
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor of(TaskDto task, TaskSort sort, Sort.Direction direction) {
+        return new TaskCursor(sort, direction, task.createdAt(), task.deadline(), task.status(), task.id());
+    }
+
+    public static TaskCursor decode(String cursor, TaskSort sort, Sort.Direction direction) {
+        final TaskCursor decoded;
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final String[] parts = value.split("\\" + SEPARATOR, -1);
+            if (parts.length != 6) {
+                throw new IllegalArgumentException(value);
+            }
+            decoded = new TaskCursor(TaskSort.valueOf(parts[0]), Sort.Direction.valueOf(parts[1]),
+                    parse(parts[2], LocalDateTime::parse), parse(parts[3], LocalDateTime::parse),
+                    parse(parts[4], TaskStatus::valueOf), Long.valueOf(parts[5]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException(String.format("Invalid search cursor '%s'", cursor));
+        }
+        if (decoded.sort() != sort || decoded.direction() != direction) {
+            throw new BadRequestException(String.format("Search cursor '%s' was issued for sort '%s %s'", cursor,
+                    decoded.sort(), decoded.direction()));
+        }
+        return decoded;
+    }
+
+    public String encode() {
+        final String value = String.join(SEPARATOR, sort.name(), direction.name(), format(createdAt),
+                format(deadline), format(status), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value.isEmpty() ? null : parser.apply(value);
+    }
+
+    private static String format(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.mssecondteam.taskservice.config.TaskSearchCacheProperties;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pages of task search tagged with the events they were searched in. A change of tasks of an event evicts every page
+ * searched in that event and every page not scoped to events, once the change is committed. Pages are found through
+ * {@link EventKeyIndex}, so a change costs the pages it evicts, not a scan of the cache. Only local writes are seen,
+ * other instances rely on the ttl.
+ */
+@Component
+@Slf4j
+public class TaskSearchCache {
+
+    private static final String CACHE_NAME = "task.search";
+
+    /**
+     * Approximate size of the key, the result and the cache node.
+     */
+    private static final int ENTRY_WEIGHT = 512;
+
+    /**
+     * Approximate size of a task without its strings.
+     */
+    private static final int TASK_WEIGHT = 384;
+
+    private final boolean enabled;
+
+    private final Cache<TaskSearchKey, SearchResult<TaskDto>> results;
+
+    private final EventKeyIndex<TaskSearchKey> index = new EventKeyIndex<>(TaskSearchKey::eventIds);
+
+    public TaskSearchCache(TaskSearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumWeight().toBytes())
+                .weigher(TaskSearchCache::weigh)
+                .expireAfterWrite(properties.ttl())
+                .evictionListener((TaskSearchKey key, SearchResult<TaskDto> result, RemovalCause cause) ->
+                        index.remove(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", results, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Ratio of cache requests which were hits")
+                .register(meterRegistry);
+    }
+
+    public SearchResult<TaskDto> get(TaskSearchKey key, Supplier<SearchResult<TaskDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        final SearchResult<TaskDto> cached = results.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final long generation = index.generation(key);
+        final SearchResult<TaskDto> loaded = loader.get();
+        final SearchResult<TaskDto> result = new SearchResult<>(List.copyOf(loaded.content()), loaded.nextCursor(),
+                loaded.total());
+        results.asMap().compute(key, (k, current) -> {
+            index.add(k);
+            if (index.generation(k) == generation) {
+                return result;
+            }
+            if (current == null) {
+                index.remove(k);
+            }
+            return current;
+        });
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidateEvent(event.eventId());
+    }
+
+    public void invalidateEvent(Long eventId) {
+        final Set<TaskSearchKey> keys = index.invalidate(eventId);
+        keys.forEach(key -> results.asMap().computeIfPresent(key, (k, result) -> {
+            index.remove(k);
+            return null;
+        }));
+        log.debug("'{}' search results of event with id '{}' were evicted from cache", keys.size(), eventId);
+    }
+
+    private static int weigh(TaskSearchKey key, SearchResult<TaskDto> result) {
+        int weight = ENTRY_WEIGHT + length(key.cursor()) + length(result.nextCursor());
+        for (TaskDto task : result.content()) {
+            weight += TASK_WEIGHT + length(task.title()) + length(task.description());
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : 2 * value.length();
+    }
+}
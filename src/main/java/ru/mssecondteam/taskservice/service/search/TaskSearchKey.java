@@ -0,0 +1,65 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import org.springframework.data.domain.Sort;
+import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+
+import java.util.Set;
+
+/**
+ * Search request in a normalized form, so that requests returning the same page share a cache entry.
+ */
+public record TaskSearchKey(
+
+        TaskSearchFilter filter,
+
+        int page,
+
+        int size,
+
+        String cursor,
+
+        boolean includeTotal,
+
+        TaskSort sort,
+
+        Sort.Direction direction
+) {
+
+    public static TaskSearchKey of(Integer page, Integer size, String cursor, boolean includeTotal,
+                                   TaskSearchFilter filter, TaskSort sort, Sort.Direction direction) {
+        return new TaskSearchKey(normalize(filter), cursor == null ? page : 0, size, cursor, includeTotal, sort,
+                direction);
+    }
+
+    /**
+     * Events the cached page belongs to, {@code null} when the search is not scoped to events.
+     */
+    public Set<Long> eventIds() {
+        return filter.eventId() != null ? Set.of(filter.eventId()) : filter.eventIds();
+    }
+
+    private static TaskSearchFilter normalize(TaskSearchFilter filter) {
+        if (filter == null) {
+            return TaskSearchFilter.builder().build();
+        }
+        return TaskSearchFilter.builder()
+                .eventId(filter.eventId())
+                .eventIds(copyOf(filter.eventIds()))
+                .assigneeId(filter.assigneeId())
+                .assigneeIds(copyOf(filter.assigneeIds()))
+                .authorId(filter.authorId())
+                .authorIds(copyOf(filter.authorIds()))
+                .statuses(copyOf(filter.statuses()))
+                .deadlineFrom(filter.deadlineFrom())
+                .deadlineTo(filter.deadlineTo())
+                .createdFrom(filter.createdFrom())
+                .createdTo(filter.createdTo())
+                .epicId(filter.epicId())
+                .withoutEpic(Boolean.TRUE.equals(filter.withoutEpic()) ? Boolean.TRUE : null)
+                .build();
+    }
+
+    private static <T> Set<T> copyOf(Set<T> values) {
+        return values == null || values.isEmpty() ? null : Set.copyOf(values);
+    }
+}
@@ -0,0 +1,191 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Orders of task search. Every order ends with the task id, so pages are stable. An order is accepted only with
+ * filters for which one of its indexes returns rows already sorted: the index columns in front of the sort keys
+ * must be fixed by the filter, and when the filter has a column that can lead an index, the index must start with
+ * it. Any other combination would make the database sort all matching rows. A list filter fixes its column only
+ * when it holds one value; with several values an index returns rows ordered per value, not overall. When no index
+ * serves such a filter as a whole, it is searched with one ordered index scan per value of the list and the scans
+ * are merged, which the database does without sorting (Merge Append). Lists hold at most 100 values, and every scan
+ * reads at most the requested page and the rows before it.
+ */
+@Schema(description = "Task search order")
+@Getter
+@RequiredArgsConstructor
+public enum TaskSort {
+
+    @Schema(description = "By creation date, then id")
+    CREATED_AT(List.of("createdAt", "id"), List.of(
+            Set.of(),
+            Set.of(Filters.EVENT_ID),
+            Set.of(Filters.EVENT_ID, Filters.ASSIGNEE_ID),
+            Set.of(Filters.EVENT_ID, Filters.STATUS),
+            Set.of(Filters.EVENT_ID, Filters.WITHOUT_EPIC),
+            Set.of(Filters.ASSIGNEE_ID),
+            Set.of(Filters.AUTHOR_ID),
+            Set.of(Filters.EPIC_ID))),
+
+    @Schema(description = "By deadline, tasks without deadline last in ascending order, then id")
+    DEADLINE(List.of("deadline", "id"), List.of(
+            Set.of(Filters.EVENT_ID))),
+
+    @Schema(description = "By status name, then creation date and id")
+    STATUS(List.of("status", "createdAt", "id"), List.of(
+            Set.of(Filters.EVENT_ID))),
+
+    @Schema(description = "By id")
+    ID(List.of("id"), List.of(
+            Set.of()));
+
+    /**
+     * Task attributes the order is made of.
+     */
+    private final List<String> keys;
+
+    /**
+     * Filters fixing the leading columns of each index that returns tasks in this order.
+     */
+    private final List<Set<String>> indexedFilters;
+
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction, keys.toArray(String[]::new));
+    }
+
+    /**
+     * Returns filters of the ordered index scans serving the filter: the filter itself, or one filter per value of
+     * a list filter when the scans have to be merged.
+     *
+     * @throws BadRequestException when no index returns tasks of the filter in this order
+     */
+    public List<TaskSearchFilter> splitForIndex(TaskSearchFilter filter) {
+        final Set<String> filters = fixedFilters(filter);
+        final List<IdList> lists = IdList.severalOf(filter);
+        if (isSupported(filters, !lists.isEmpty())) {
+            return Collections.singletonList(filter);
+        }
+        for (IdList list : lists) {
+            final Set<String> split = new HashSet<>(filters);
+            split.add(list.filter);
+            if (isSupported(split, true)) {
+                return list.split(filter);
+            }
+        }
+        if (!lists.isEmpty()) {
+            throw new BadRequestException(String.format("Sort '%s' is not supported with filters %s and lists of " +
+                    "several ids %s, it requires one of filter sets %s", this, filters, lists, indexedFilters));
+        }
+        throw new BadRequestException(String.format("Sort '%s' is not supported with filters %s, it requires " +
+                "one of filter sets %s", this, filters, indexedFilters));
+    }
+
+    private boolean isSupported(Set<String> filters, boolean hasLists) {
+        final boolean leading = hasLists || filters.stream().anyMatch(Filters.LEADING::contains);
+        return indexedFilters.stream()
+                .anyMatch(indexed -> filters.containsAll(indexed) && !(leading && indexed.isEmpty()));
+    }
+
+    private static Set<String> fixedFilters(TaskSearchFilter filter) {
+        final Set<String> filters = new HashSet<>();
+        if (filter == null) {
+            return filters;
+        }
+        if (filter.eventId() != null || isSingle(filter.eventIds())) {
+            filters.add(Filters.EVENT_ID);
+        }
+        if (filter.assigneeId() != null || isSingle(filter.assigneeIds())) {
+            filters.add(Filters.ASSIGNEE_ID);
+        }
+        if (filter.authorId() != null || isSingle(filter.authorIds())) {
+            filters.add(Filters.AUTHOR_ID);
+        }
+        if (filter.statuses() != null && filter.statuses().size() == 1) {
+            filters.add(Filters.STATUS);
+        }
+        if (filter.epicId() != null) {
+            filters.add(Filters.EPIC_ID);
+        }
+        if (Boolean.TRUE.equals(filter.withoutEpic())) {
+            filters.add(Filters.WITHOUT_EPIC);
+        }
+        return filters;
+    }
+
+    private static boolean isSingle(Set<Long> ids) {
+        return ids != null && ids.size() == 1;
+    }
+
+    private static final class Filters {
+
+        private static final String EVENT_ID = "eventId";
+
+        private static final String ASSIGNEE_ID = "assigneeId";
+
+        private static final String AUTHOR_ID = "authorId";
+
+        private static final String STATUS = "single status";
+
+        private static final String EPIC_ID = "epicId";
+
+        private static final String WITHOUT_EPIC = "withoutEpic";
+
+        private static final Set<String> LEADING = Set.of(EVENT_ID, ASSIGNEE_ID, AUTHOR_ID, EPIC_ID);
+    }
+
+    /**
+     * List filters that can be split into one search per value, in the order they are tried.
+     */
+    @RequiredArgsConstructor
+    private enum IdList {
+        EVENT_IDS("eventIds", Filters.EVENT_ID, TaskSearchFilter::eventIds,
+                (filter, id) -> filter.toBuilder().eventIds(Set.of(id)).build()),
+        ASSIGNEE_IDS("assigneeIds", Filters.ASSIGNEE_ID, TaskSearchFilter::assigneeIds,
+                (filter, id) -> filter.toBuilder().assigneeIds(Set.of(id)).build()),
+        AUTHOR_IDS("authorIds", Filters.AUTHOR_ID, TaskSearchFilter::authorIds,
+                (filter, id) -> filter.toBuilder().authorIds(Set.of(id)).build());
+
+        private final String name;
+
+        private final String filter;
+
+        private final Function<TaskSearchFilter, Set<Long>> ids;
+
+        private final BiFunction<TaskSearchFilter, Long, TaskSearchFilter> single;
+
+        private static List<IdList> severalOf(TaskSearchFilter filter) {
+            if (filter == null) {
+                return List.of();
+            }
+            return Arrays.stream(values())
+                    .filter(list -> list.ids.apply(filter) != null && list.ids.apply(filter).size() > 1)
+                    .toList();
+        }
+
+        private List<TaskSearchFilter> split(TaskSearchFilter filter) {
+            return ids.apply(filter).stream()
+                    .sorted()
+                    .map(id -> single.apply(filter, id))
+                    .toList();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
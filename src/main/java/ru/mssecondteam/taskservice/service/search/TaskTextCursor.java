@@ -0,0 +1,43 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import ru.mssecondteam.taskservice.exception.BadRequestException;
+import ru.mssecondteam.taskservice.repository.task.RankedTask;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last returned task in the (rank desc, id) text search order, passed to clients as an opaque token.
+ */
+public record TaskTextCursor(
+
+        Float rank,
+
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskTextCursor of(RankedTask rankedTask) {
+        return new TaskTextCursor(rankedTask.rank(), rankedTask.task().id());
+    }
+
+    public static TaskTextCursor decode(String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(value);
+            }
+            return new TaskTextCursor(Float.valueOf(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(String.format("Invalid search cursor '%s'", cursor));
+        }
+    }
+
+    public String encode() {
+        final String value = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,43 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mssecondteam.taskservice.config.TaskChangesProperties;
+import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically deletes tombstones of tasks removed longer than the retention ago. Change cursors older than the
+ * deleted tombstones could miss removals, so the change feed rejects them and clients have to start over.
+ */
+@Component
+@Slf4j
+public class TaskTombstoneCleaner {
+
+    private final TaskRepository taskRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final Duration retention;
+
+    public TaskTombstoneCleaner(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                                TaskChangesProperties properties) {
+        this.taskRepository = taskRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.retention = properties.tombstoneRetention();
+    }
+
+    @Scheduled(fixedDelayString = "${task-changes.tombstone-cleanup-delay}",
+            initialDelayString = "${task-changes.tombstone-cleanup-delay}")
+    public int clean() {
+        final LocalDateTime removedBefore = LocalDateTime.now().minus(retention);
+        final Integer deleted = transaction.execute(status -> taskRepository.deleteTombstones(removedBefore));
+        log.info("Deleted '{}' task tombstones removed before '{}'", deleted, removedBefore);
+        return deleted;
+    }
+}
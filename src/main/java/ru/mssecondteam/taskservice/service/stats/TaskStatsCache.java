@@ -0,0 +1,72 @@
+package ru.mssecondteam.taskservice.service.stats;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.mssecondteam.taskservice.config.TaskStatsProperties;
+import ru.mssecondteam.taskservice.dto.TaskStatsDto;
+import ru.mssecondteam.taskservice.service.search.EventKeyIndex;
+import ru.mssecondteam.taskservice.service.search.TaskChangedEvent;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Task statistics of recently requested event sets. Entries live for a few seconds only, because overdue and
+ * upcoming counts move with time, and are evicted earlier when tasks of one of their events change. Entries of an
+ * event are found through {@link EventKeyIndex}.
+ */
+@Component
+public class TaskStatsCache {
+
+    private final Cache<Key, List<TaskStatsDto>> stats;
+
+    private final EventKeyIndex<Key> index = new EventKeyIndex<>(Key::eventIds);
+
+    public TaskStatsCache(TaskStatsProperties properties, MeterRegistry meterRegistry) {
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaximumSize())
+                .expireAfterWrite(properties.cacheTtl())
+                .evictionListener((Key key, List<TaskStatsDto> value, RemovalCause cause) -> index.remove(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, stats, "task.stats");
+    }
+
+    public List<TaskStatsDto> get(Set<Long> eventIds, TaskStatsGroupBy groupBy, Supplier<List<TaskStatsDto>> loader) {
+        final Key key = new Key(Set.copyOf(eventIds), groupBy);
+        final List<TaskStatsDto> cached = stats.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final long generation = index.generation(key);
+        final List<TaskStatsDto> loaded = List.copyOf(loader.get());
+        stats.asMap().compute(key, (k, current) -> {
+            index.add(k);
+            if (index.generation(k) == generation) {
+                return loaded;
+            }
+            if (current == null) {
+                index.remove(k);
+            }
+            return current;
+        });
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        index.invalidate(event.eventId()).forEach(key -> stats.asMap().computeIfPresent(key, (k, value) -> {
+            index.remove(k);
+            return null;
+        }));
+    }
+
+    private record Key(Set<Long> eventIds, TaskStatsGroupBy groupBy) {
+    }
+}
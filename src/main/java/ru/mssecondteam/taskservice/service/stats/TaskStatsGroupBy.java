@@ -0,0 +1,26 @@
+package ru.mssecondteam.taskservice.service.stats;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import ru.mssecondteam.taskservice.model.Task;
+
+import java.util.function.Function;
+
+@Schema(description = "Grouping of task statistics inside an event")
+@RequiredArgsConstructor
+public enum TaskStatsGroupBy {
+
+    @Schema(description = "By assignee, unassigned tasks form a group without assignee")
+    ASSIGNEE(root -> root.get("assigneeId")),
+
+    @Schema(description = "By epic, tasks outside of epics form a group without epic")
+    EPIC(root -> root.get("epic").get("id"));
+
+    private final Function<Root<Task>, Path<Long>> attribute;
+
+    public Path<Long> attribute(Root<Task> root) {
+        return attribute.apply(root);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.mssecondteam.taskservice.service.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusCounterDrift;
+
+import java.util.List;
+
+/**
+ * Periodically recounts task status counters of every event from the tasks table. Counters are maintained by the
+ * services, so any drift means a write path bypassed them; it is logged, published as a metric and corrected.
+ */
+@Component
+@Slf4j
+public class TaskStatusCounterReconciler {
+
+    private final TaskRepository taskRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final Counter drifts;
+
+    public TaskStatusCounterReconciler(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.drifts = Counter.builder("task.status.counters.drift")
+                .description("Task status counters found different from the tasks table")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${task-stats.reconciliation-delay}",
+            initialDelayString = "${task-stats.reconciliation-delay}")
+    public int reconcile() {
+        int drifted = 0;
+        for (Long eventId : taskRepository.findCountedEventIds()) {
+            final List<TaskStatusCounterDrift> eventDrifts =
+                    transaction.execute(status -> taskRepository.reconcileStatusCounts(eventId));
+            eventDrifts.forEach(drift -> log.warn("Task status counter of event '{}', epic '{}', status '{}' was " +
+                    "'{}' instead of '{}'", drift.eventId(), drift.epicId(), drift.status(), drift.counted(),
+                    drift.actual()));
+            drifted += eventDrifts.size();
+        }
+        drifts.increment(drifted);
+        log.info("Reconciled task status counters, '{}' drifted", drifted);
+        return drifted;
+    }
+}
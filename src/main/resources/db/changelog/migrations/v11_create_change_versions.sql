@@ -0,0 +1,52 @@
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE tasks ALTER COLUMN change_version SET DEFAULT pg_current_xact_id()::text::bigint;
+
+ALTER TABLE epics ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE epics ALTER COLUMN change_version SET DEFAULT pg_current_xact_id()::text::bigint;
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    event_id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    change_version BIGINT NOT NULL,
+    removed_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (event_id, task_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_task_tombstones_event_id_change_version
+    ON task_tombstones (event_id, change_version, task_id);
+
+CREATE OR REPLACE FUNCTION set_change_version() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_version := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION add_task_tombstone() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' OR OLD.event_id <> NEW.event_id THEN
+        INSERT INTO task_tombstones (event_id, task_id, change_version)
+        VALUES (OLD.event_id, OLD.task_id, pg_current_xact_id()::text::bigint)
+        ON CONFLICT (event_id, task_id) DO UPDATE
+            SET change_version = EXCLUDED.change_version, removed_at = EXCLUDED.removed_at;
+    END IF;
+    IF TG_OP = 'UPDATE' AND OLD.event_id <> NEW.event_id THEN
+        DELETE FROM task_tombstones WHERE event_id = NEW.event_id AND task_id = NEW.task_id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER tasks_set_change_version
+    BEFORE UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION set_change_version();
+
+CREATE OR REPLACE TRIGGER epics_set_change_version
+    BEFORE UPDATE ON epics
+    FOR EACH ROW EXECUTE FUNCTION set_change_version();
+
+CREATE OR REPLACE TRIGGER tasks_add_tombstone
+    AFTER UPDATE OF event_id OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION add_task_tombstone();
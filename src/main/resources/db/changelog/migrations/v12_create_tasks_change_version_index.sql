@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_event_id_change_version ON tasks (event_id, change_version, task_id);
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS task_status_counters (
+    event_id BIGINT NOT NULL,
+    epic_id BIGINT NOT NULL,
+    status VARCHAR(15) NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (event_id, epic_id, status)
+);
+
+INSERT INTO task_status_counters (event_id, epic_id, status, task_count)
+SELECT event_id, coalesce(epic_id, 0), status, count(*) FROM tasks GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS task_tombstone_horizon (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    change_version BIGINT NOT NULL
+);
+
+INSERT INTO task_tombstone_horizon (change_version) VALUES (-1)
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,9 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_event_id_created_at ON tasks (event_id, created_at, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_event_id_assignee_id_created_at ON tasks (event_id, assignee_id, created_at, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_assignee_id_created_at ON tasks (assignee_id, created_at, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_author_id_created_at ON tasks (author_id, created_at, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_created_at ON tasks (created_at, task_id);
@@ -0,0 +1,8 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_event_id_status_created_at ON tasks (event_id, status, created_at, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_event_id_deadline ON tasks (event_id, deadline, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_event_id_created_at_without_epic ON tasks (event_id, created_at, task_id)
+    WHERE epic_id IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_epic_id_created_at ON tasks (epic_id, created_at, task_id);
@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_search_vector ON tasks USING GIN (search_vector);
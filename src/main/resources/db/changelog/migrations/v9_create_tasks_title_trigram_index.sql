@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_tasks_event_id_title_trgm ON tasks USING GIN (event_id, title gin_trgm_ops);
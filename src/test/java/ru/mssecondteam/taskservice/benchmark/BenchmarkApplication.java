@@ -0,0 +1,52 @@
+package ru.mssecondteam.taskservice.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.mssecondteam.taskservice.TaskServiceApplication;
+
+/**
+ * Application context for database benchmarks. Runs against the database in {@code BENCHMARK_JDBC_URL} (credentials
+ * in {@code BENCHMARK_JDBC_USERNAME} and {@code BENCHMARK_JDBC_PASSWORD}) or against a Testcontainers PostgreSQL.
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(PostgreSQLContainer<?> postgres, String jdbcUrl, String username, String password) {
+        this.postgres = postgres;
+        this.context = new SpringApplicationBuilder(TaskServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.jpa.show-sql=false");
+    }
+
+    static BenchmarkApplication start() {
+        final String jdbcUrl = System.getenv("BENCHMARK_JDBC_URL");
+        if (jdbcUrl != null) {
+            return new BenchmarkApplication(null, jdbcUrl, System.getenv("BENCHMARK_JDBC_USERNAME"),
+                    System.getenv("BENCHMARK_JDBC_PASSWORD"));
+        }
+        final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        return new BenchmarkApplication(postgres, postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword());
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.mssecondteam.taskservice.benchmark;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Feign transport latency against a local WireMock event-service answering after 2 ms, with 32 concurrent callers.
+ * Run with {@code mvn -Pbenchmark test -DskipTests -Dbenchmark=EventClientTransport} and compare the p0.50 and
+ * p0.99 rows per {@code transport}: {@code default} is Feign's {@code HttpURLConnection} client, {@code hc5} the
+ * pooled Apache client and {@code http2} the JDK {@code HttpClient}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(32)
+public class EventClientTransportBenchmark {
+
+    private static final String EVENT_JSON = """
+            {"id":1,"name":"event","description":"description","ownerId":2}""";
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 3, TimeUnit.SECONDS,
+            false);
+
+    @Param({"default", "hc5", "http2"})
+    private String transport;
+
+    private WireMockServer eventService;
+
+    private CloseableHttpClient apacheHttpClient;
+
+    private Client client;
+
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        eventService = new WireMockServer(options().dynamicPort().containerThreads(64));
+        eventService.start();
+        eventService.stubFor(get(urlEqualTo("/events/1"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(2)
+                        .withBody(EVENT_JSON)));
+        client = switch (transport) {
+            case "default" -> new Client.Default(null, null);
+            case "hc5" -> {
+                apacheHttpClient = HttpClients.custom()
+                        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                                .setMaxConnTotal(200)
+                                .setMaxConnPerRoute(50)
+                                .build())
+                        .build();
+                yield new ApacheHttp5Client(apacheHttpClient);
+            }
+            case "http2" -> new Http2Client(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofSeconds(1))
+                    .build());
+            default -> throw new IllegalArgumentException(String.format("Unknown transport '%s'", transport));
+        };
+        request = Request.create(Request.HttpMethod.GET, eventService.baseUrl() + "/events/1",
+                Map.of("X-User-Id", List.of("2")), null, StandardCharsets.UTF_8, null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (apacheHttpClient != null) {
+            apacheHttpClient.close();
+        }
+        eventService.stop();
+    }
+
+    @Benchmark
+    public byte[] getEventById() throws IOException {
+        try (Response response = client.execute(request, OPTIONS);
+             InputStream body = response.body().asInputStream()) {
+            return body.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.mssecondteam.taskservice.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.mssecondteam.taskservice.client.EventClientGuards;
+import ru.mssecondteam.taskservice.client.StubEventClient;
+import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberRole;
+import ru.mssecondteam.taskservice.service.membership.EventMembership;
+import ru.mssecondteam.taskservice.service.membership.EventMembershipLoader;
+import ru.mssecondteam.taskservice.service.membership.StaleMembershipStore;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Membership load latency against a stubbed event-service: every call takes 5 ms plus an exponentially
+ * distributed tail (mean 3 ms). Run with {@code mvn -Pbenchmark test -DskipTests -Dbenchmark=EventMembershipLoad}
+ * and compare the p0.50 and p0.99 rows of {@code sequential} and {@code concurrent}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+public class EventMembershipLoadBenchmark {
+
+    private static final long EVENT_ID = 1L;
+
+    private static final long USER_ID = 2L;
+
+    private StubEventClient eventClient;
+
+    private ExecutorService eventClientExecutor;
+
+    private EventMembershipLoader membershipLoader;
+
+    @Setup
+    public void setUp() {
+        final EventDto event = EventDto.builder()
+                .id(EVENT_ID)
+                .ownerId(USER_ID)
+                .build();
+        final List<TeamMemberDto> team = LongStream.rangeClosed(1, 50)
+                .mapToObj(userId -> new TeamMemberDto(EVENT_ID, userId, TeamMemberRole.MEMBER))
+                .toList();
+        eventClient = new StubEventClient(EventMembershipLoadBenchmark::latency)
+                .withEvent(event, team);
+        eventClientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        membershipLoader = new EventMembershipLoader(eventClient, EventClientGuards.guard(eventClientExecutor),
+                new StaleMembershipStore(EventClientGuards.properties(), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventClientExecutor.close();
+    }
+
+    @Benchmark
+    public EventMembership sequential() {
+        final EventDto event = eventClient.getEventById(USER_ID, EVENT_ID).getBody();
+        final List<TeamMemberDto> team = eventClient.getTeamsByEventId(USER_ID, EVENT_ID).getBody();
+        return EventMembership.of(EVENT_ID, event, team);
+    }
+
+    @Benchmark
+    public EventMembership concurrent() {
+        return membershipLoader.load(USER_ID, EVENT_ID);
+    }
+
+    private static Duration latency() {
+        final double tailMicros = -3_000 * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(5_000 + (long) tailMicros));
+    }
+}
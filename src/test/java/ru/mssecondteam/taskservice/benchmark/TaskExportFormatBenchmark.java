@@ -0,0 +1,116 @@
+package ru.mssecondteam.taskservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.service.export.TaskColumnarWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of encoding 100k export rows as NDJSON (with the application's date format) against the columnar
+ * format, into a counting sink so that no I/O is measured. Run with
+ * {@code mvn -Pbenchmark test -DskipTests -Dbenchmark="TaskExportFormatBenchmark -prof gc"}; the encoded sizes
+ * are printed at the end of the fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskExportFormatBenchmark {
+
+    private static final int TASKS = 100_000;
+
+    private final List<TaskDto> tasks = new ArrayList<>(TASKS);
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("dd.MM.yyyy HH:mm")
+                .build();
+        final TaskStatus[] statuses = TaskStatus.values();
+        for (long id = 1; id <= TASKS; id++) {
+            tasks.add(TaskDto.builder()
+                    .id(id)
+                    .title("Prepare venue " + id)
+                    .description(id % 3 == 0 ? null : "Book the hall, check the projector and the sound for task " + id)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(id * 17))
+                    .deadline(id % 2 == 0 ? null : LocalDateTime.of(2024, 6, 1, 0, 0).plusMinutes(id))
+                    .status(statuses[(int) (id % statuses.length)])
+                    .assigneeId(id % 700 + 1)
+                    .authorId(id % 300 + 1)
+                    .eventId(42L)
+                    .epicId(id % 5 == 0 ? id % 50 : null)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        final CountingOutputStream output = new CountingOutputStream();
+        final ObjectWriter writer = objectMapper.writerFor(TaskDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            for (TaskDto task : tasks) {
+                writer.writeValue(generator, task);
+                generator.writeRaw('\n');
+            }
+        }
+        return output.count;
+    }
+
+    @Benchmark
+    public long columnar() throws IOException {
+        final CountingOutputStream output = new CountingOutputStream();
+        try (TaskColumnarWriter writer = new TaskColumnarWriter(output)) {
+            tasks.forEach(writer);
+        }
+        return output.count;
+    }
+
+    @TearDown
+    public void printSizes() throws IOException {
+        System.out.printf("%nEncoded size of %d tasks: ndjson %d bytes, columnar %d bytes%n", TASKS, ndjson(),
+                columnar());
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ru.mssecondteam.taskservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.mapper.TaskMapper;
+import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+import ru.mssecondteam.taskservice.repository.task.TaskSpecification;
+import ru.mssecondteam.taskservice.service.TaskService;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search page cost of loading managed {@code Task} entities and mapping them ({@code entities}, as search worked
+ * before, with the persistence context held open by the request) against selecting straight into {@code TaskDto}
+ * in a read-only transaction ({@code projection}). Run with
+ * {@code mvn -Pbenchmark test -DskipTests -Dbenchmark="TaskReadBenchmark -prof gc"} and compare both the score and
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class TaskReadBenchmark {
+
+    private static final int TASKS = 100_000;
+
+    private static final int EVENTS = 100;
+
+    private static final Sort SEARCH_ORDER = Sort.by("createdAt", "id");
+
+    @Param({"10", "100"})
+    private int size;
+
+    private BenchmarkApplication application;
+
+    private TaskRepository taskRepository;
+
+    private TaskMapper taskMapper;
+
+    private TaskService taskService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        seed(application.getBean(JdbcTemplate.class));
+        taskRepository = application.getBean(TaskRepository.class);
+        taskMapper = application.getBean(TaskMapper.class);
+        taskService = application.getBean(TaskService.class);
+        transactionTemplate = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public List<TaskDto> entities() {
+        final long eventId = randomEventId();
+        return transactionTemplate.execute(status -> taskMapper.toDtoList(taskRepository.findBy(
+                TaskSpecification.eventIdEquals(eventId), query -> query.sortBy(SEARCH_ORDER).limit(size).all())));
+    }
+
+    @Benchmark
+    public List<TaskDto> projection() {
+        final TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventId(randomEventId())
+                .build();
+        return taskService.searchTasks(0, size, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC).content();
+    }
+
+    private static long randomEventId() {
+        return 1 + ThreadLocalRandom.current().nextInt(EVENTS);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        final Long tasks = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Long.class);
+        if (tasks != null && tasks >= TASKS) {
+            return;
+        }
+        jdbcTemplate.update(String.format("INSERT INTO tasks (title, description, created_at, deadline, status, " +
+                "assignee_id, author_id, event_id) " +
+                "SELECT 'Task ' || g, 'Description of task ' || g, TIMESTAMP '2024-01-01' + g * INTERVAL '1 second', " +
+                "TIMESTAMP '2025-01-01' + g * INTERVAL '1 minute', 'TODO', g %% 700 + 1, g %% 300 + 1, g %% %d + 1 " +
+                "FROM generate_series(1, %d) g", EVENTS, TASKS));
+        jdbcTemplate.execute("VACUUM ANALYZE tasks");
+    }
+}
@@ -0,0 +1,95 @@
+package ru.mssecondteam.taskservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
+import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title suggestion latency on 1M tasks spread over 100 events. Titles are three words of a fixed vocabulary,
+ * queries are either a three letter prefix or a vocabulary word with one letter dropped. The database of
+ * {@link BenchmarkApplication} is seeded once. Run with
+ * {@code mvn -Pbenchmark test -DskipTests -Dbenchmark=TaskSuggest} and compare the p0.99 rows against 20 ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class TaskSuggestBenchmark {
+
+    private static final int TASKS = 1_000_000;
+
+    private static final int EVENTS = 100;
+
+    private static final String[] VOCABULARY = {"prepare", "venue", "catering", "speakers", "schedule", "budget",
+            "sponsors", "tickets", "registration", "badges", "stage", "lighting", "sound", "projector", "security",
+            "parking", "transfer", "hotel", "dinner", "coffee", "breakfast", "photographer", "video", "stream",
+            "website", "newsletter", "press", "release", "invitation", "volunteers", "workshop", "keynote", "panel",
+            "agenda", "signage", "merchandise", "feedback", "survey", "insurance", "contract"};
+
+    private BenchmarkApplication application;
+
+    private TaskRepository taskRepository;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        seed(application.getBean(JdbcTemplate.class));
+        taskRepository = application.getBean(TaskRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public List<TaskSuggestionDto> prefix() {
+        final String word = VOCABULARY[ThreadLocalRandom.current().nextInt(VOCABULARY.length)];
+        return taskRepository.suggestByTitle(randomEventId(), word.substring(0, 3), 10);
+    }
+
+    @Benchmark
+    public List<TaskSuggestionDto> typo() {
+        final String word = VOCABULARY[ThreadLocalRandom.current().nextInt(VOCABULARY.length)];
+        final int dropped = 1 + ThreadLocalRandom.current().nextInt(word.length() - 2);
+        return taskRepository.suggestByTitle(randomEventId(), word.substring(0, dropped) + word.substring(dropped + 1),
+                10);
+    }
+
+    private static long randomEventId() {
+        return 1 + ThreadLocalRandom.current().nextInt(EVENTS);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        final Long tasks = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Long.class);
+        if (tasks != null && tasks >= TASKS) {
+            return;
+        }
+        jdbcTemplate.update(String.format("INSERT INTO tasks (title, created_at, status, assignee_id, author_id, " +
+                        "event_id) " +
+                        "SELECT initcap(v[q %% %1$d + 1]) || ' ' || v[q / %1$d %% %1$d + 1] || ' ' || " +
+                        "v[(q / 7 + g) %% %1$d + 1], TIMESTAMP '2024-01-01' + g * INTERVAL '1 second', 'TODO', " +
+                        "g %% 700 + 1, g %% 300 + 1, g %% %2$d + 1 " +
+                        "FROM generate_series(1, %3$d) g, LATERAL (SELECT g / %2$d AS q) sequence, " +
+                        "(SELECT ?::text[] AS v) vocabulary",
+                VOCABULARY.length, EVENTS, TASKS), (Object) VOCABULARY);
+        jdbcTemplate.execute("VACUUM ANALYZE tasks");
+    }
+}
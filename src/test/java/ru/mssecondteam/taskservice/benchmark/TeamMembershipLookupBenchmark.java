@@ -0,0 +1,114 @@
+package ru.mssecondteam.taskservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberRole;
+import ru.mssecondteam.taskservice.service.membership.EventMembership;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Cost of building and querying team membership: the previous boxed {@code HashSet<Long>} built through streams
+ * against the primitive table held by {@link EventMembership}. Run with
+ * {@code mvn -Pbenchmark test -DskipTests -Dbenchmark="TeamMembershipLookup -prof gc"} and compare
+ * {@code gc.alloc.rate.norm} of the {@code build*} rows and the score of the {@code lookup*} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TeamMembershipLookupBenchmark {
+
+    private static final long EVENT_ID = 1L;
+
+    @Param({"50", "5000"})
+    private int teamSize;
+
+    private EventDto event;
+
+    private List<TeamMemberDto> team;
+
+    private Set<Long> boxedMembership;
+
+    private EventMembership membership;
+
+    private Long[] probes;
+
+    @Setup
+    public void setUp() {
+        event = EventDto.builder()
+                .id(EVENT_ID)
+                .ownerId(0L)
+                .build();
+        team = LongStream.rangeClosed(1, teamSize)
+                .map(i -> i * 7919)
+                .mapToObj(userId -> new TeamMemberDto(EVENT_ID, userId, TeamMemberRole.MEMBER))
+                .toList();
+        boxedMembership = boxed();
+        membership = EventMembership.of(EVENT_ID, event, team);
+        probes = ThreadLocalRandom.current()
+                .longs(1024, 0, (teamSize + 1) * 7919L)
+                .map(id -> id % 2 == 0 ? id - id % 7919 : id)
+                .boxed()
+                .toArray(Long[]::new);
+    }
+
+    @Benchmark
+    public Set<Long> buildBoxed() {
+        return boxed();
+    }
+
+    @Benchmark
+    public EventMembership buildPrimitive() {
+        return EventMembership.of(EVENT_ID, event, team);
+    }
+
+    @Benchmark
+    public int lookupBoxed() {
+        int found = 0;
+        for (Long probe : probes) {
+            if (boxedMembership.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int lookupPrimitive() {
+        int found = 0;
+        for (Long probe : probes) {
+            if (membership.isTeamMember(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private Set<Long> boxed() {
+        final Set<Long> membersIds = team.stream()
+                .map(TeamMemberDto::userId)
+                .collect(Collectors.toSet());
+        membersIds.add(event.ownerId());
+        return Collections.unmodifiableSet(membersIds);
+    }
+}
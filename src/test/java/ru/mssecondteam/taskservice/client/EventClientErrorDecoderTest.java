@@ -0,0 +1,56 @@
+package ru.mssecondteam.taskservice.client;
+
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.exception.EventServiceUnavailableException;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class EventClientErrorDecoderTest {
+
+    private final EventClientErrorDecoder errorDecoder = new EventClientErrorDecoder();
+
+    @Test
+    @DisplayName("404 is decoded as not found")
+    void decode_whenNotFound_shouldReturnNotFoundException() {
+        Exception ex = errorDecoder.decode("EventClient#getEventById(Long,Long)", response(404));
+
+        assertThat(ex instanceof NotFoundException, is(true));
+        assertThat(ex.getMessage(), is("Event was not found"));
+    }
+
+    @Test
+    @DisplayName("403 is decoded as not authorized")
+    void decode_whenForbidden_shouldReturnNotAuthorizedException() {
+        Exception ex = errorDecoder.decode("EventClient#getEventById(Long,Long)", response(403));
+
+        assertThat(ex instanceof NotAuthorizedException, is(true));
+    }
+
+    @Test
+    @DisplayName("5xx is decoded as event service unavailable")
+    void decode_whenServerError_shouldReturnEventServiceUnavailableException() {
+        Exception ex = errorDecoder.decode("EventClient#getEventById(Long,Long)", response(503));
+
+        assertThat(ex instanceof EventServiceUnavailableException, is(true));
+        assertThat(ex.getMessage(), is("Event service responded with status '503'"));
+    }
+
+    private static Response response(int status) {
+        Request request = Request.create(Request.HttpMethod.GET, "/events/1", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package ru.mssecondteam.taskservice.client;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.config.EventClientResilienceProperties;
+import ru.mssecondteam.taskservice.exception.EventServiceUnavailableException;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventClientGuardTest {
+
+    private ExecutorService eventClientExecutor;
+
+    @BeforeEach
+    void setUp() {
+        eventClientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventClientExecutor.close();
+    }
+
+    @Test
+    @DisplayName("Slow call times out and is interrupted")
+    void submit_whenCallExceedsTimeout_shouldFailAndInterruptCall() throws InterruptedException {
+        EventClientGuard guard = EventClientGuards.guard(eventClientExecutor,
+                EventClientGuards.properties(Duration.ofMillis(100), 10, 10));
+        CountDownLatch callInterrupted = new CountDownLatch(1);
+
+        CompletableFuture<String> call = guard.submit(EventEndpoint.EVENT, () -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                callInterrupted.countDown();
+            }
+            return "event";
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause() instanceof EventServiceUnavailableException, is(true));
+        assertThat(ex.getCause().getMessage(), is("Event service call 'EVENT' timed out after 'PT0.1S'"));
+        assertTrue(callInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Properties without timeout of an endpoint are rejected")
+    void properties_whenEndpointTimeoutMissing_shouldThrowIllegalArgumentException() {
+        EventClientResilienceProperties properties = EventClientGuards.properties();
+        Map<EventEndpoint, Duration> timeouts = Map.of(EventEndpoint.EVENT, Duration.ofSeconds(1));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> new EventClientResilienceProperties(timeouts, properties.bulkhead(),
+                        properties.circuitBreaker(), properties.staleFallback()));
+
+        assertThat(ex.getMessage(), is("Timeouts of event service calls [TEAM, BULK_TEAM] are not configured in " +
+                "'event-service.resilience.timeouts'"));
+    }
+
+    @Test
+    @DisplayName("Calls above the bulkhead limit are rejected")
+    void submit_whenBulkheadFull_shouldRejectCall() throws Exception {
+        EventClientGuard guard = EventClientGuards.guard(eventClientExecutor,
+                EventClientGuards.properties(Duration.ofSeconds(5), 1, 10));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> firstCall = guard.submit(EventEndpoint.TEAM, () -> {
+            release.await();
+            return "team";
+        });
+
+        EventServiceUnavailableException ex = assertThrows(EventServiceUnavailableException.class,
+                () -> guard.submit(EventEndpoint.TEAM, () -> "team"));
+
+        assertThat(ex.getCause() instanceof BulkheadFullException, is(true));
+        release.countDown();
+        assertThat(firstCall.get(5, TimeUnit.SECONDS), is("team"));
+        assertThat(guard.submit(EventEndpoint.TEAM, () -> "team").get(5, TimeUnit.SECONDS), is("team"));
+    }
+
+    @Test
+    @DisplayName("Failures open the circuit breaker")
+    void submit_whenCallsFail_shouldOpenCircuitBreaker() {
+        EventClientGuard guard = EventClientGuards.guard(eventClientExecutor,
+                EventClientGuards.properties(Duration.ofSeconds(5), 10, 1));
+        CompletableFuture<String> failedCall = guard.submit(EventEndpoint.EVENT, () -> {
+            throw new EventServiceUnavailableException("Event service responded with status '500'");
+        });
+        assertThrows(ExecutionException.class, () -> failedCall.get(5, TimeUnit.SECONDS));
+
+        EventServiceUnavailableException ex = assertThrows(EventServiceUnavailableException.class,
+                () -> guard.submit(EventEndpoint.EVENT, () -> "event"));
+
+        assertThat(ex.getCause() instanceof CallNotPermittedException, is(true));
+    }
+
+    @Test
+    @DisplayName("Not found responses do not open the circuit breaker")
+    void submit_whenEventNotFound_shouldKeepCircuitBreakerClosed() throws Exception {
+        EventClientGuard guard = EventClientGuards.guard(eventClientExecutor,
+                EventClientGuards.properties(Duration.ofSeconds(5), 10, 1));
+        CompletableFuture<String> notFoundCall = guard.submit(EventEndpoint.EVENT, () -> {
+            throw new NotFoundException("Event was not found");
+        });
+        assertThrows(ExecutionException.class, () -> notFoundCall.get(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> call = guard.submit(EventEndpoint.EVENT, () -> "event");
+
+        assertThat(call.get(5, TimeUnit.SECONDS), is("event"));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.mssecondteam.taskservice.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ru.mssecondteam.taskservice.config.EventClientResilienceConfig;
+import ru.mssecondteam.taskservice.config.EventClientResilienceProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class EventClientGuards {
+
+    private EventClientGuards() {
+    }
+
+    public static EventClientResilienceProperties properties(Duration timeout, int maxConcurrentCalls,
+                                                             int minimumNumberOfCalls) {
+        final Map<EventEndpoint, Duration> timeouts = Arrays.stream(EventEndpoint.values())
+                .collect(Collectors.toMap(Function.identity(), endpoint -> timeout));
+        return new EventClientResilienceProperties(
+                timeouts,
+                new EventClientResilienceProperties.BulkheadProperties(maxConcurrentCalls, Duration.ZERO),
+                new EventClientResilienceProperties.CircuitBreakerProperties(50, 100, timeout, minimumNumberOfCalls,
+                        minimumNumberOfCalls, Duration.ofMinutes(1)),
+                new EventClientResilienceProperties.StaleFallbackProperties(true, Duration.ofMinutes(1), 100));
+    }
+
+    public static EventClientResilienceProperties properties() {
+        return properties(Duration.ofSeconds(5), 100, 100);
+    }
+
+    public static EventClientGuard guard(ExecutorService executor, EventClientResilienceProperties properties) {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final EventClientResilienceConfig config = new EventClientResilienceConfig();
+        return new EventClientGuard(config.eventServiceCircuitBreaker(properties, meterRegistry),
+                config.eventServiceBulkhead(properties, meterRegistry), executor, properties);
+    }
+
+    public static EventClientGuard guard(ExecutorService executor) {
+        return guard(executor, properties());
+    }
+}
@@ -0,0 +1,91 @@
+package ru.mssecondteam.taskservice.client;
+
+import org.springframework.http.ResponseEntity;
+import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.EventTeamDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class StubEventClient implements EventClient {
+
+    private final Map<Long, EventDto> events = new ConcurrentHashMap<>();
+
+    private final Map<Long, List<TeamMemberDto>> teams = new ConcurrentHashMap<>();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Supplier<Duration> latency;
+
+    public StubEventClient() {
+        this(() -> Duration.ZERO);
+    }
+
+    public StubEventClient(Supplier<Duration> latency) {
+        this.latency = latency;
+    }
+
+    public StubEventClient withEvent(EventDto event, List<TeamMemberDto> teamMembers) {
+        events.put(event.id(), event);
+        teams.put(event.id(), List.copyOf(teamMembers));
+        return this;
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+
+    @Override
+    public ResponseEntity<EventDto> getEventById(Long userId, Long eventId) {
+        respond();
+        final EventDto event = events.get(eventId);
+        if (event == null) {
+            throw new NotFoundException("Event was not found");
+        }
+        return ResponseEntity.ok(event);
+    }
+
+    @Override
+    public ResponseEntity<List<TeamMemberDto>> getTeamsByEventId(Long userId, Long eventId) {
+        respond();
+        final List<TeamMemberDto> teamMembers = teams.get(eventId);
+        if (teamMembers == null) {
+            throw new NotFoundException("Event was not found");
+        }
+        return ResponseEntity.ok(teamMembers);
+    }
+
+    @Override
+    public ResponseEntity<List<EventTeamDto>> getTeamsByEventIds(Long userId, List<Long> eventIds) {
+        respond();
+        final List<EventTeamDto> eventTeams = new ArrayList<>();
+        for (Long eventId : eventIds) {
+            final EventDto event = events.get(eventId);
+            if (event != null) {
+                eventTeams.add(new EventTeamDto(eventId, event.ownerId(), teams.get(eventId)));
+            }
+        }
+        return ResponseEntity.ok(eventTeams);
+    }
+
+    private void respond() {
+        calls.incrementAndGet();
+        final Duration delay = latency.get();
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Event service call was interrupted", ex);
+        }
+    }
+}
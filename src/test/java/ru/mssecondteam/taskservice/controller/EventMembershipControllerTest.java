@@ -0,0 +1,122 @@
+package ru.mssecondteam.taskservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import ru.mssecondteam.taskservice.config.MembershipCacheConfig;
+import ru.mssecondteam.taskservice.dto.event.EventTeamUpdateRequest;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.service.membership.EventMembership;
+import ru.mssecondteam.taskservice.service.membership.EventMembershipSynchronizer;
+import ru.mssecondteam.taskservice.service.membership.TeamMemberIds;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = EventMembershipController.class)
+@Import(MembershipCacheConfig.class)
+@TestPropertySource(properties = "event-service.membership-sync.token=secret")
+class EventMembershipControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EventMembershipSynchronizer membershipSynchronizer;
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Update event membership")
+    void updateMembership_whenRequestValid_shouldReturn204Status() {
+        EventTeamUpdateRequest eventTeam = EventTeamUpdateRequest.builder()
+                .ownerId(1L)
+                .teamMembersIds(List.of(2L, 3L))
+                .build();
+
+        mvc.perform(put("/internal/events/{eventId}/membership", 5L)
+                        .header("X-Service-Token", "secret")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventTeam)))
+                .andExpect(status().isNoContent());
+
+        verify(membershipSynchronizer, times(1)).update(new EventMembership(5L, 1L, TeamMemberIds.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Update event membership, owner is missing")
+    void updateMembership_whenOwnerIdIsMissing_shouldReturn400Status() {
+        EventTeamUpdateRequest eventTeam = EventTeamUpdateRequest.builder()
+                .teamMembersIds(List.of(2L, 3L))
+                .build();
+
+        mvc.perform(put("/internal/events/{eventId}/membership", 5L)
+                        .header("X-Service-Token", "secret")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventTeam)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof MethodArgumentNotValidException));
+
+        verify(membershipSynchronizer, never()).update(any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Invalidate event membership")
+    void invalidateMembership_shouldReturn204Status() {
+        mvc.perform(delete("/internal/events/{eventId}/membership", 5L)
+                        .header("X-Service-Token", "secret"))
+                .andExpect(status().isNoContent());
+
+        verify(membershipSynchronizer, times(1)).invalidate(5L);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Update event membership without service token")
+    void updateMembership_whenServiceTokenIsMissing_shouldReturn403Status() {
+        EventTeamUpdateRequest eventTeam = EventTeamUpdateRequest.builder()
+                .ownerId(1L)
+                .teamMembersIds(List.of(2L, 3L))
+                .build();
+
+        mvc.perform(put("/internal/events/{eventId}/membership", 5L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventTeam)))
+                .andExpect(status().isForbidden())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof NotAuthorizedException));
+
+        verify(membershipSynchronizer, never()).update(any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Invalidate event membership with wrong service token")
+    void invalidateMembership_whenServiceTokenIsWrong_shouldReturn403Status() {
+        mvc.perform(delete("/internal/events/{eventId}/membership", 5L)
+                        .header("X-Service-Token", "guess"))
+                .andExpect(status().isForbidden());
+
+        verify(membershipSynchronizer, never()).invalidate(any());
+    }
+}
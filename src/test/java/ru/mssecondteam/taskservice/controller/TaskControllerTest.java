@@ -8,39 +8,62 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import ru.mssecondteam.taskservice.dto.NewTaskRequest;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskChangesDto;
 import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.dto.TaskStatsDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
 import ru.mssecondteam.taskservice.dto.TaskUpdateRequest;
+import ru.mssecondteam.taskservice.exception.BadRequestException;
 import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
 import ru.mssecondteam.taskservice.exception.NotFoundException;
 import ru.mssecondteam.taskservice.mapper.TaskMapper;
 import ru.mssecondteam.taskservice.model.Task;
 import ru.mssecondteam.taskservice.model.TaskStatus;
 import ru.mssecondteam.taskservice.service.TaskService;
+import ru.mssecondteam.taskservice.service.export.TaskColumnarWriter;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsGroupBy;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasValue;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = TaskController.class)
@@ -496,8 +519,6 @@ class TaskControllerTest {
     @DisplayName("Find task by id")
     void findTaskById_whenTaskExists_shouldReturnTask() {
         when(taskService.findTaskById(taskId))
-                .thenReturn(task);
-        when(taskMapper.toDto(task))
                 .thenReturn(taskDto);
 
         mvc.perform(get("/tasks/{taskId}", taskId)
@@ -513,7 +534,6 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.authorId", is(taskDto.authorId()), Long.class));
 
         verify(taskService, times(1)).findTaskById(taskId);
-        verify(taskMapper, times(1)).toDto(task);
     }
 
     @Test
@@ -529,7 +549,6 @@ class TaskControllerTest {
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof NotFoundException));
 
         verify(taskService, times(1)).findTaskById(taskId);
-        verify(taskMapper, never()).toDto(any());
     }
 
     @Test
@@ -540,16 +559,16 @@ class TaskControllerTest {
         Integer size = 12;
 
         TaskSearchFilter filter = TaskSearchFilter.builder().build();
-        when(taskService.searchTasks(page, size, filter))
-                .thenReturn(Collections.singletonList(task));
-        when(taskMapper.toDtoList(Collections.singletonList(task)))
-                .thenReturn(Collections.singletonList(taskDto));
+        when(taskService.searchTasks(page, size, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC))
+                .thenReturn(new SearchResult<>(Collections.singletonList(taskDto), null, null));
 
         mvc.perform(get("/tasks")
                         .param("page", String.valueOf(page))
                         .param("size", String.valueOf(size))
                         .header("X-User-Id", userId))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist("X-Total-Count"))
                 .andExpect(jsonPath("$.length()", is(1)))
                 .andExpect(jsonPath("$.[0].id", is(taskDto.id()), Long.class))
                 .andExpect(jsonPath("$.[0].title", is(taskDto.title())))
@@ -560,8 +579,411 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.[0].eventId", is(taskDto.eventId()), Long.class))
                 .andExpect(jsonPath("$.[0].authorId", is(taskDto.authorId()), Long.class));
 
-        verify(taskService, times(1)).searchTasks(page, size, filter);
-        verify(taskMapper, times(1)).toDtoList(Collections.singletonList(task));
+        verify(taskService, times(1)).searchTasks(page, size, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks of several events and assignees")
+    void searchTasks_whenSeveralIdsArePassed_shouldBindSets() {
+        TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventIds(Set.of(5L, 6L))
+                .assigneeIds(Set.of(3L, 4L, 7L))
+                .build();
+        when(taskService.searchTasks(0, 10, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC))
+                .thenReturn(new SearchResult<>(Collections.singletonList(taskDto), null, null));
+
+        mvc.perform(get("/tasks")
+                        .param("eventIds", "5", "6")
+                        .param("assigneeIds", "3,4,7")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks of too many events")
+    void searchTasks_whenTooManyEventIds_shouldReturn400() {
+        String[] eventIds = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).toArray(String[]::new);
+
+        mvc.perform(get("/tasks")
+                        .param("eventIds", eventIds)
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).searchTasks(any(), any(), any(), any(Boolean.class), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks with too large page")
+    void searchTasks_whenSizeIsTooLarge_shouldReturn400() {
+        mvc.perform(get("/tasks")
+                        .param("size", "101")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).searchTasks(any(), any(), any(), any(Boolean.class), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks with cursor")
+    void searchTasks_whenCursorIsPassed_shouldReturnNextCursorHeader() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+        when(taskService.searchTasks(0, 1, "cursor", false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC))
+                .thenReturn(new SearchResult<>(Collections.singletonList(taskDto), "next-cursor", null));
+
+        mvc.perform(get("/tasks")
+                        .param("size", "1")
+                        .param("cursor", "cursor")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-cursor"))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$.[0].id", is(taskDto.id()), Long.class));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks with total count")
+    void searchTasks_whenTotalIsRequested_shouldReturnTotalCountHeader() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+        when(taskService.searchTasks(0, 10, null, true, filter, TaskSort.CREATED_AT, Sort.Direction.ASC))
+                .thenReturn(new SearchResult<>(Collections.singletonList(taskDto), null, 1L));
+
+        mvc.perform(get("/tasks")
+                        .param("includeTotal", "true")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$.length()", is(1)));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks by status, deadline and epic")
+    void searchTasks_whenExtendedFiltersArePassed_shouldBindFilter() {
+        TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventId(5L)
+                .statuses(Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS))
+                .deadlineFrom(LocalDateTime.of(2024, 10, 1, 0, 0))
+                .deadlineTo(LocalDateTime.of(2024, 10, 31, 23, 59))
+                .createdFrom(LocalDateTime.of(2024, 9, 1, 12, 30))
+                .withoutEpic(true)
+                .build();
+        when(taskService.searchTasks(0, 10, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC))
+                .thenReturn(new SearchResult<>(Collections.emptyList(), null, null));
+
+        mvc.perform(get("/tasks")
+                        .param("eventId", "5")
+                        .param("statuses", "TODO", "IN_PROGRESS")
+                        .param("deadlineFrom", "01.10.2024 00:00")
+                        .param("deadlineTo", "31.10.2024 23:59")
+                        .param("createdFrom", "01.09.2024 12:30")
+                        .param("withoutEpic", "true")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+
+        verify(taskService, times(1)).searchTasks(0, 10, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks sorted by deadline descending")
+    void searchTasks_whenSortIsPassed_shouldBindSort() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventId(5L).build();
+        when(taskService.searchTasks(0, 10, null, false, filter, TaskSort.DEADLINE, Sort.Direction.DESC))
+                .thenReturn(new SearchResult<>(Collections.singletonList(taskDto), null, null));
+
+        mvc.perform(get("/tasks")
+                        .param("eventId", "5")
+                        .param("sort", "DEADLINE")
+                        .param("direction", "DESC")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)));
+
+        verify(taskService, times(1)).searchTasks(0, 10, null, false, filter, TaskSort.DEADLINE,
+                Sort.Direction.DESC);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks with unknown sort")
+    void searchTasks_whenSortIsUnknown_shouldReturn400() {
+        mvc.perform(get("/tasks")
+                        .param("sort", "TITLE")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.error", is("Invalid value 'TITLE' of parameter 'sort'")));
+
+        verify(taskService, never()).searchTasks(any(), any(), any(), any(Boolean.class), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks with invalid deadline")
+    void searchTasks_whenDeadlineHasWrongFormat_shouldReturn400() {
+        mvc.perform(get("/tasks")
+                        .param("deadlineFrom", "2024-10-01")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).searchTasks(any(), any(), any(), any(Boolean.class), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Search tasks with invalid cursor")
+    void searchTasks_whenCursorIsInvalid_shouldReturn400() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+        when(taskService.searchTasks(0, 10, "invalid", false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC))
+                .thenThrow(new BadRequestException("Invalid search cursor 'invalid'"));
+
+        mvc.perform(get("/tasks")
+                        .param("cursor", "invalid")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof BadRequestException));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Full-text search of tasks")
+    void searchTasksByText_shouldReturnTasksAndNextCursor() {
+        TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventId(5L)
+                .build();
+        when(taskService.searchTasksByText("venue", 1, null, filter))
+                .thenReturn(new SearchResult<>(Collections.singletonList(taskDto), "next-cursor", null));
+
+        mvc.perform(get("/tasks/search")
+                        .param("text", "venue")
+                        .param("size", "1")
+                        .param("eventId", "5")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-cursor"))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$.[0].id", is(taskDto.id()), Long.class));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Full-text search of tasks with blank text")
+    void searchTasksByText_whenTextIsBlank_shouldReturn400() {
+        mvc.perform(get("/tasks/search")
+                        .param("text", " ")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).searchTasksByText(any(), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Full-text search of tasks with too large page")
+    void searchTasksByText_whenSizeIsTooLarge_shouldReturn400() {
+        mvc.perform(get("/tasks/search")
+                        .param("text", "report")
+                        .param("size", "101")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).searchTasksByText(any(), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Suggest tasks by title")
+    void suggestTasks_shouldReturnSuggestions() {
+        TaskSuggestionDto suggestion = TaskSuggestionDto.builder()
+                .id(taskId)
+                .title("Prepare venue")
+                .status(TaskStatus.TODO)
+                .build();
+        when(taskService.suggestTasks(5L, "prep", 10))
+                .thenReturn(Collections.singletonList(suggestion));
+
+        mvc.perform(get("/tasks/suggest")
+                        .param("eventId", "5")
+                        .param("text", "prep")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$.[0].id", is(taskId), Long.class))
+                .andExpect(jsonPath("$.[0].title", is("Prepare venue")))
+                .andExpect(jsonPath("$.[0].status", is("TODO")));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Suggest tasks by title with too large size")
+    void suggestTasks_whenSizeIsTooLarge_shouldReturn400() {
+        mvc.perform(get("/tasks/suggest")
+                        .param("eventId", "5")
+                        .param("text", "prep")
+                        .param("size", "51")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).suggestTasks(any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Find task changes since version")
+    void findChanges_shouldReturnChanges() {
+        TaskChangesDto changes = TaskChangesDto.builder()
+                .tasks(List.of(TaskDto.builder().id(taskId).title("Prepare venue").build()))
+                .removedTaskIds(List.of(7L))
+                .nextSince("MTJ8MQ")
+                .hasMore(false)
+                .build();
+        when(taskService.findChanges(5L, "MTB8Mw", 100))
+                .thenReturn(changes);
+
+        mvc.perform(get("/tasks/changes")
+                        .param("eventId", "5")
+                        .param("since", "MTB8Mw")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()", is(1)))
+                .andExpect(jsonPath("$.tasks[0].id", is(taskId), Long.class))
+                .andExpect(jsonPath("$.removedTaskIds[0]", is(7)))
+                .andExpect(jsonPath("$.nextSince", is("MTJ8MQ")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Find task changes with too large size")
+    void findChanges_whenSizeIsTooLarge_shouldReturn400() {
+        mvc.perform(get("/tasks/changes")
+                        .param("eventId", "5")
+                        .param("size", "1001")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).findChanges(any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Get task stats grouped by epic")
+    void getTaskStats_shouldReturnStats() {
+        TaskStatsDto stats = TaskStatsDto.builder()
+                .eventId(5L)
+                .epicId(7L)
+                .statusCounts(Map.of(TaskStatus.TODO, 3L))
+                .total(3L)
+                .overdue(1L)
+                .upcoming(2L)
+                .build();
+        when(taskService.getTaskStats(Set.of(5L, 6L), TaskStatsGroupBy.EPIC))
+                .thenReturn(List.of(stats));
+
+        mvc.perform(get("/tasks/stats")
+                        .param("eventIds", "5", "6")
+                        .param("groupBy", "EPIC")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$.[0].epicId", is(7)))
+                .andExpect(jsonPath("$.[0].statusCounts.TODO", is(3)))
+                .andExpect(jsonPath("$.[0].overdue", is(1)))
+                .andExpect(jsonPath("$.[0].upcoming", is(2)));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Get task stats with unknown grouping")
+    void getTaskStats_whenGroupByIsUnknown_shouldReturn400() {
+        mvc.perform(get("/tasks/stats")
+                        .param("eventIds", "5")
+                        .param("groupBy", "STATUS")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getTaskStats(any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Get status counts of events")
+    void getStatusCounts_shouldReturnCountsPerEvent() {
+        TaskStatsDto counts = TaskStatsDto.builder()
+                .eventId(5L)
+                .statusCounts(Map.of(TaskStatus.TODO, 3L, TaskStatus.DONE, 1L))
+                .total(4L)
+                .build();
+        when(taskService.getStatusCounts(Set.of(5L), false))
+                .thenReturn(List.of(counts));
+
+        mvc.perform(get("/tasks/status-counts")
+                        .param("eventIds", "5")
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$.[0].statusCounts.DONE", is(1)))
+                .andExpect(jsonPath("$.[0].total", is(4)));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Export tasks of event as NDJSON")
+    void exportTasks_shouldStreamOneJsonObjectPerLine() {
+        TaskDto second = TaskDto.builder().id(2L).title("Second").status(TaskStatus.TODO).eventId(5L).build();
+        doAnswer(invocation -> {
+            Consumer<TaskDto> consumer = invocation.getArgument(1);
+            consumer.accept(taskDto);
+            consumer.accept(second);
+            return null;
+        }).when(taskService).exportTasks(eq(5L), any());
+
+        MvcResult asyncResult = mvc.perform(get("/tasks/export")
+                        .param("eventId", "5")
+                        .header("X-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(objectMapper.readValue(lines[0], TaskDto.class), is(taskDto));
+        assertThat(objectMapper.readValue(lines[1], TaskDto.class), is(second));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Export tasks of event in columnar format")
+    void exportTasksColumnar_shouldStreamColumnarExport() {
+        doAnswer(invocation -> {
+            Consumer<TaskDto> consumer = invocation.getArgument(1);
+            consumer.accept(taskDto);
+            return null;
+        }).when(taskService).exportTasks(eq(5L), any());
+
+        MvcResult asyncResult = mvc.perform(get("/tasks/export")
+                        .param("eventId", "5")
+                        .param("format", "columnar")
+                        .header("X-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TaskColumnarWriter.MEDIA_TYPE))
+                .andReturn();
+
+        String magic = new String(result.getResponse().getContentAsByteArray(), 0, 7, StandardCharsets.US_ASCII);
+        assertThat(magic, is("TASKCOL"));
     }
 
     @Test
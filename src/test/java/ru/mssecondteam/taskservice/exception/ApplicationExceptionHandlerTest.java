@@ -0,0 +1,56 @@
+package ru.mssecondteam.taskservice.exception;
+
+import org.apache.catalina.connector.ClientAbortException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class ApplicationExceptionHandlerTest {
+
+    private final ApplicationExceptionHandler exceptionHandler = new ApplicationExceptionHandler();
+
+    @Test
+    @DisplayName("Write aborted by client is not reported as error")
+    void handleIOException_whenClientAborted_shouldReturnNoResponse() {
+        IOException ex = new IOException("Write failed", new ClientAbortException(new IOException("Socket closed")));
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleIOException(ex);
+
+        assertThat(response, nullValue());
+    }
+
+    @Test
+    @DisplayName("Request body cut off by client is not reported as error")
+    void handleIOException_whenRequestEndedEarly_shouldReturnNoResponse() {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleIOException(new EOFException());
+
+        assertThat(response, nullValue());
+    }
+
+    @Test
+    @DisplayName("Write to closed connection is not reported as error")
+    void handleIOException_whenClientDisconnected_shouldReturnNoResponse() {
+        IOException ex = new IOException("Write failed", new IOException("Broken pipe"));
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleIOException(ex);
+
+        assertThat(response, nullValue());
+    }
+
+    @Test
+    @DisplayName("Other I/O failure is reported as internal error")
+    void handleIOException_whenOtherFailure_shouldReturn500Status() {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleIOException(new IOException("Disk is full"));
+
+        assertThat(response.getStatusCode(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(response.getBody().errors().get("error"), is("Disk is full"));
+    }
+}
@@ -0,0 +1,230 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskIndexIT {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String SEARCH_ORDER = " ORDER BY created_at, task_id OFFSET 0 ROWS FETCH FIRST 11 ROWS ONLY";
+
+    private static final String AFTER_CURSOR = " AND created_at >= TIMESTAMP '2024-01-10'" +
+            " AND (created_at > TIMESTAMP '2024-01-10' OR task_id > 100)";
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        POSTGRES.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        POSTGRES.stop();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final Long tasks = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Long.class);
+        if (tasks != null && tasks > 0) {
+            return;
+        }
+        jdbcTemplate.execute("INSERT INTO epics (title, deadline, executive_id, event_id) " +
+                "SELECT 'epic ' || g, TIMESTAMP '2025-01-01', g % 50 + 1, g % 500 + 1 FROM generate_series(1, 100) g");
+        jdbcTemplate.execute("INSERT INTO tasks (title, created_at, status, assignee_id, author_id, event_id, epic_id, " +
+                "deadline) " +
+                "SELECT 'task ' || g, TIMESTAMP '2024-01-01' + g * INTERVAL '1 minute', " +
+                "(ARRAY['TODO', 'IN_PROGRESS', 'DONE', 'CANCELLED'])[g % 3 + 1], g % 700 + 1, " +
+                "g % 300 + 1, g % 500 + 1, CASE WHEN g % 10 = 0 THEN g % 100 + 1 END, " +
+                "TIMESTAMP '2024-01-01' + g % 1000 * INTERVAL '1 hour' " +
+                "FROM generate_series(1, 50000) g");
+        jdbcTemplate.execute("INSERT INTO tasks (title, created_at, status, assignee_id, author_id, event_id) " +
+                "SELECT (ARRAY['Prepare venue', 'Order catering', 'Invite speakers', 'Print badges'])[g % 4 + 1] " +
+                "|| ' ' || g, TIMESTAMP '2023-01-01' + g * INTERVAL '1 minute', 'TODO', 1000, 1000, 1000 " +
+                "FROM generate_series(1, 20000) g");
+        jdbcTemplate.execute("ANALYZE tasks");
+        jdbcTemplate.execute("ANALYZE epics");
+    }
+
+    @Test
+    @DisplayName("Search by event id uses event index")
+    void searchByEventId_shouldUseEventIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_event_id_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by event id and assignee id uses composite index")
+    void searchByEventIdAndAssigneeId_shouldUseCompositeIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42 AND assignee_id = 43" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_event_id_assignee_id_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by assignee id uses assignee index")
+    void searchByAssigneeId_shouldUseAssigneeIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE assignee_id = 42" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_assignee_id_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by author id uses author index")
+    void searchByAuthorId_shouldUseAuthorIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE author_id = 42" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_author_id_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search after cursor without filters uses created at index")
+    void searchAfterCursor_shouldSeekCreatedAtIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE true" + AFTER_CURSOR + SEARCH_ORDER);
+
+        assertThat(plan, containsString("Index Scan using ix_tasks_created_at"));
+        assertThat(plan, containsString("Index Cond: (created_at >="));
+    }
+
+    @Test
+    @DisplayName("Search by event id after cursor seeks event index")
+    void searchByEventIdAfterCursor_shouldSeekEventIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42" + AFTER_CURSOR + SEARCH_ORDER);
+
+        assertThat(plan, containsString("Index Scan using ix_tasks_event_id_created_at"));
+        assertThat(plan, containsString("Index Cond: ((event_id = 42) AND (created_at >="));
+    }
+
+    @Test
+    @DisplayName("Search by event id and status uses status index")
+    void searchByEventIdAndStatus_shouldUseStatusIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42 AND status IN ('DONE')" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_event_id_status_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by event id and deadline range uses deadline index")
+    void searchByEventIdAndDeadline_shouldUseDeadlineIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42 AND deadline >= TIMESTAMP '2024-01-05' " +
+                "AND deadline <= TIMESTAMP '2024-01-08'" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_event_id_deadline"));
+    }
+
+    @Test
+    @DisplayName("Search by event id sorted by deadline after cursor seeks deadline index")
+    void searchByEventIdSortedByDeadlineAfterCursor_shouldSeekDeadlineIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42 AND deadline >= TIMESTAMP '2024-01-20' " +
+                "AND (deadline > TIMESTAMP '2024-01-20' OR task_id > 100) " +
+                "ORDER BY deadline, task_id FETCH FIRST 11 ROWS ONLY");
+
+        assertThat(plan, containsString("Index Scan using ix_tasks_event_id_deadline"));
+        assertThat(plan, containsString("Index Cond: ((event_id = 42) AND (deadline >="));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by event id sorted by status descending scans status index backward")
+    void searchByEventIdSortedByStatusDescending_shouldScanStatusIndexBackward() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42 " +
+                "ORDER BY status DESC, created_at DESC, task_id DESC FETCH FIRST 11 ROWS ONLY");
+
+        assertThat(plan, containsString("Index Scan Backward using ix_tasks_event_id_status_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by event id without epic uses partial index")
+    void searchByEventIdWithoutEpic_shouldUsePartialIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE event_id = 42 AND epic_id IS NULL" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_event_id_created_at_without_epic"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by epic id uses epic index")
+    void searchByEpicId_shouldUseEpicIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE epic_id = 7" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("ix_tasks_epic_id_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Search by created at range uses created at index")
+    void searchByCreatedAtRange_shouldUseCreatedAtIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE created_at >= TIMESTAMP '2024-01-10' " +
+                "AND created_at <= TIMESTAMP '2024-01-11'" + SEARCH_ORDER);
+
+        assertThat(plan, containsString("Index Scan using ix_tasks_created_at"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    @DisplayName("Full-text search uses search vector index")
+    void searchByText_shouldUseSearchVectorIndex() {
+        final String plan = explain("SELECT * FROM tasks WHERE search_vector @@ websearch_to_tsquery('simple', '4242')" +
+                " ORDER BY ts_rank_cd(search_vector, websearch_to_tsquery('simple', '4242')) DESC, task_id" +
+                " FETCH FIRST 11 ROWS ONLY");
+
+        assertThat(plan, containsString("Bitmap Index Scan on ix_tasks_search_vector"));
+    }
+
+    @Test
+    @DisplayName("Title suggestions in large event use trigram index scoped by event")
+    void suggestByTitle_shouldUseTrigramIndexWithEventId() {
+        final String plan = explain("SELECT task_id, title, status FROM tasks WHERE event_id = CAST(1000 AS bigint) " +
+                "AND (title ILIKE 'ctaering%' OR 'ctaering' <% title) " +
+                "ORDER BY word_similarity('ctaering', title) DESC, task_id FETCH FIRST 10 ROWS ONLY");
+
+        assertThat(plan, containsString("Bitmap Index Scan on ix_tasks_event_id_title_trgm"));
+        assertThat(plan, containsString("Index Cond: ((event_id = '1000'::bigint) AND ((title)::text %> 'ctaering'"));
+    }
+
+    @Test
+    @DisplayName("Change feed of event reads change version index in order")
+    void findChanges_shouldUseChangeVersionIndex() {
+        final String plan = explain("SELECT task_id, change_version FROM tasks WHERE event_id = 42 " +
+                "AND (change_version, task_id) > (0, 100) " +
+                "AND change_version < pg_snapshot_xmin(pg_current_snapshot())::text::bigint " +
+                "ORDER BY change_version, task_id LIMIT 101");
+
+        assertThat(plan, containsString("ix_tasks_event_id_change_version"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
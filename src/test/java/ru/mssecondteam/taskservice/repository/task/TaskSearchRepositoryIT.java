@@ -0,0 +1,170 @@
+package ru.mssecondteam.taskservice.repository.task;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
+import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+import ru.mssecondteam.taskservice.service.search.TaskTextCursor;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Transactional
+class TaskSearchRepositoryIT {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        POSTGRES.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        POSTGRES.stop();
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Task titleMatch;
+
+    private Task descriptionMatch;
+
+    private Task otherEventMatch;
+
+    @BeforeEach
+    void setUp() {
+        titleMatch = createTask("Book the venue", "Call the hotel", 1L);
+        descriptionMatch = createTask("Prepare budget", "Include venue rent", 1L);
+        otherEventMatch = createTask("Venue decoration", null, 2L);
+        createTask("Order catering", "Lunch for speakers", 1L);
+        taskRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Title matches rank above description matches")
+    void findByText_whenWordIsInTitleAndDescription_shouldRankTitleFirst() {
+        List<RankedTask> tasks = taskRepository.findByText("venue", TaskSpecification.eventIdEquals(1L), null, 10);
+
+        assertThat(tasks.stream().map(rankedTask -> rankedTask.task().id()).toList(),
+                contains(titleMatch.getId(), descriptionMatch.getId()));
+    }
+
+    @Test
+    @DisplayName("Text search without filters finds all events")
+    void findByText_whenNoFilter_shouldReturnAllMatches() {
+        List<RankedTask> tasks = taskRepository.findByText("venue -rent", null, null, 10);
+
+        assertThat(tasks.stream().map(rankedTask -> rankedTask.task().id()).toList(),
+                contains(titleMatch.getId(), otherEventMatch.getId()));
+    }
+
+    @Test
+    @DisplayName("Text search continues after cursor")
+    void findByText_whenCursorIsPassed_shouldReturnNextTasks() {
+        List<RankedTask> firstPage = taskRepository.findByText("venue", TaskSpecification.eventIdEquals(1L), null, 1);
+        List<RankedTask> secondPage = taskRepository.findByText("venue", TaskSpecification.eventIdEquals(1L),
+                TaskTextCursor.of(firstPage.get(0)), 1);
+        List<RankedTask> thirdPage = taskRepository.findByText("venue", TaskSpecification.eventIdEquals(1L),
+                TaskTextCursor.of(secondPage.get(0)), 1);
+
+        assertThat(firstPage.stream().map(rankedTask -> rankedTask.task().id()).toList(),
+                contains(titleMatch.getId()));
+        assertThat(secondPage.stream().map(rankedTask -> rankedTask.task().id()).toList(),
+                contains(descriptionMatch.getId()));
+        assertThat(thirdPage, empty());
+    }
+
+    @Test
+    @DisplayName("Text search filters by several events bound as one array")
+    void findByText_whenFilteredBySeveralEvents_shouldReturnMatchesOfEvents() {
+        Task thirdEventMatch = createTask("Venue map", null, 3L);
+        taskRepository.flush();
+
+        List<RankedTask> tasks = taskRepository.findByText("venue",
+                TaskSpecification.eventIdIn(Set.of(1L, 3L)).and(TaskSpecification.statusIn(Set.of(TaskStatus.TODO))),
+                null, 10);
+
+        assertThat(tasks.stream().map(rankedTask -> rankedTask.task().id()).toList(),
+                containsInAnyOrder(titleMatch.getId(), descriptionMatch.getId(), thirdEventMatch.getId()));
+    }
+
+    @Test
+    @DisplayName("Merged scans of several events return tasks in order of all events")
+    void findMergedSlice_whenEventsAreScannedSeparately_shouldReturnTasksInOverallOrder() {
+        List<TaskDto> tasks = taskRepository.findMergedSlice(
+                List.of(TaskSpecification.eventIdEquals(1L), TaskSpecification.eventIdEquals(2L)),
+                TaskSort.CREATED_AT.toSort(Sort.Direction.ASC), 1, 2);
+
+        assertThat(tasks.stream().map(TaskDto::id).toList(),
+                contains(descriptionMatch.getId(), otherEventMatch.getId()));
+    }
+
+    @Test
+    @DisplayName("Title suggestions put prefix matches before similar words")
+    void suggestByTitle_whenPrefixAndSimilarWordMatch_shouldReturnPrefixFirst() {
+        List<TaskSuggestionDto> suggestions = taskRepository.suggestByTitle(1L, "bo", 10);
+
+        assertThat(suggestions.stream().map(TaskSuggestionDto::id).toList(), contains(titleMatch.getId()));
+        assertThat(suggestions.get(0).title(), is("Book the venue"));
+    }
+
+    @Test
+    @DisplayName("Title suggestions tolerate a dropped letter")
+    void suggestByTitle_whenWordHasTypo_shouldReturnSimilarTitles() {
+        Task catering = taskRepository.findAll().stream()
+                .filter(task -> task.getTitle().equals("Order catering"))
+                .findFirst()
+                .orElseThrow();
+
+        List<TaskSuggestionDto> suggestions = taskRepository.suggestByTitle(1L, "catring", 10);
+
+        assertThat(suggestions.stream().map(TaskSuggestionDto::id).toList(), contains(catering.getId()));
+    }
+
+    @Test
+    @DisplayName("Title suggestions treat like wildcards literally")
+    void suggestByTitle_whenTextHasWildcards_shouldNotMatchEverything() {
+        List<TaskSuggestionDto> suggestions = taskRepository.suggestByTitle(1L, "%", 10);
+
+        assertThat(suggestions, empty());
+    }
+
+    private Task createTask(String title, String description, Long eventId) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .description(description)
+                .status(TaskStatus.TODO)
+                .authorId(1L)
+                .eventId(eventId)
+                .build());
+    }
+}
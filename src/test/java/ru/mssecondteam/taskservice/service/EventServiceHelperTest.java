@@ -1,26 +1,41 @@
 package ru.mssecondteam.taskservice.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import ru.mssecondteam.taskservice.client.EventClient;
+import ru.mssecondteam.taskservice.client.EventClientGuards;
+import ru.mssecondteam.taskservice.config.MembershipCacheProperties;
 import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.EventTeamDto;
 import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
 import ru.mssecondteam.taskservice.dto.event.TeamMemberRole;
 import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+import ru.mssecondteam.taskservice.service.membership.EventMembershipCache;
+import ru.mssecondteam.taskservice.service.membership.EventMembershipLoader;
+import ru.mssecondteam.taskservice.service.membership.StaleMembershipStore;
+import ru.mssecondteam.taskservice.service.membership.EventTeamMember;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,7 +46,10 @@ class EventServiceHelperTest {
     @Mock
     private EventClient eventClient;
 
-    @InjectMocks
+    private ExecutorService eventClientExecutor;
+
+    private EventMembershipCache membershipCache;
+
     private EventServiceHelper eventServiceHelper;
 
     private Long userId;
@@ -42,6 +60,15 @@ class EventServiceHelperTest {
 
     @BeforeEach
     void init() {
+        eventClientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        membershipCache = new EventMembershipCache(
+                new MembershipCacheProperties(true, Duration.ofMinutes(1), 100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+        EventMembershipLoader membershipLoader = new EventMembershipLoader(eventClient,
+                EventClientGuards.guard(eventClientExecutor),
+                new StaleMembershipStore(EventClientGuards.properties(), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+        eventServiceHelper = new EventServiceHelper(membershipLoader, membershipCache);
         userId = 144L;
         assigneeId = 245L;
         eventDto = createEvent(1);
@@ -57,6 +84,10 @@ class EventServiceHelperTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        eventClientExecutor.close();
+    }
 
     @Test
     @DisplayName("User and assignee are part of the team")
@@ -123,6 +154,133 @@ class EventServiceHelperTest {
         verify(eventClient, times(1)).getTeamsByEventId(userId, eventDto.id());
     }
 
+    @Test
+    @DisplayName("Repeated check is served from membership cache")
+    void checkIfEventExistsAndUsersAreEventTeamMembers_whenCalledTwice_shouldCallEventServiceOnce() {
+        when(eventClient.getEventById(userId, eventDto.id()))
+                .thenReturn(new ResponseEntity<>(eventDto, HttpStatus.OK));
+        when(eventClient.getTeamsByEventId(userId, eventDto.id()))
+                .thenReturn(new ResponseEntity<>(List.of(teamMemberDto1, teamMemberDto2), HttpStatus.OK));
+
+        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, eventDto.id(), assigneeId);
+        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(assigneeId, eventDto.id(), userId);
+
+        verify(eventClient, times(1)).getEventById(userId, eventDto.id());
+        verify(eventClient, times(1)).getTeamsByEventId(userId, eventDto.id());
+    }
+
+    @Test
+    @DisplayName("Check after cache invalidation calls event service again")
+    void checkIfEventExistsAndUsersAreEventTeamMembers_whenCacheInvalidated_shouldCallEventServiceAgain() {
+        when(eventClient.getEventById(userId, eventDto.id()))
+                .thenReturn(new ResponseEntity<>(eventDto, HttpStatus.OK));
+        when(eventClient.getTeamsByEventId(userId, eventDto.id()))
+                .thenReturn(new ResponseEntity<>(List.of(teamMemberDto1, teamMemberDto2), HttpStatus.OK));
+
+        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, eventDto.id(), assigneeId);
+        membershipCache.invalidate(eventDto.id());
+        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, eventDto.id(), assigneeId);
+
+        verify(eventClient, times(2)).getEventById(userId, eventDto.id());
+        verify(eventClient, times(2)).getTeamsByEventId(userId, eventDto.id());
+    }
+
+    @Test
+    @DisplayName("Not found event is cached")
+    void checkIfEventExistsAndUsersAreEventTeamMembers_whenEventNotFound_shouldCacheNotFound() {
+        when(eventClient.getEventById(userId, eventDto.id()))
+                .thenThrow(new NotFoundException("Event was not found"));
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, eventDto.id(), assigneeId));
+        NotFoundException cachedEx = assertThrows(NotFoundException.class,
+                () -> eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, eventDto.id(), assigneeId));
+
+        assertThat(ex.getMessage(), is("Event was not found"));
+        assertThat(cachedEx.getMessage(), is("Event was not found"));
+
+        verify(eventClient, times(1)).getEventById(userId, eventDto.id());
+    }
+
+    @Test
+    @DisplayName("Bulk check resolves all events in one call")
+    void checkIfEventsExistAndUsersAreEventTeamMembers_whenAllUsersAreTeamMembers_shouldCallBulkEndpointOnce() {
+        EventDto secondEvent = createEvent(2);
+        when(eventClient.getTeamsByEventIds(userId, List.of(eventDto.id(), secondEvent.id())))
+                .thenReturn(new ResponseEntity<>(List.of(
+                        createEventTeam(eventDto, teamMemberDto1, teamMemberDto2),
+                        createEventTeam(secondEvent, teamMemberDto1)), HttpStatus.OK));
+
+        eventServiceHelper.checkIfEventsExistAndUsersAreEventTeamMembers(userId, List.of(
+                new EventTeamMember(eventDto.id(), assigneeId),
+                new EventTeamMember(secondEvent.id(), secondEvent.ownerId()),
+                new EventTeamMember(secondEvent.id(), userId)));
+
+        verify(eventClient, times(1)).getTeamsByEventIds(userId, List.of(eventDto.id(), secondEvent.id()));
+        verify(eventClient, never()).getEventById(anyLong(), anyLong());
+        verify(eventClient, never()).getTeamsByEventId(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Bulk check requests only events missing from cache")
+    void checkIfEventsExistAndUsersAreEventTeamMembers_whenEventIsCached_shouldRequestOnlyMissingEvents() {
+        EventDto secondEvent = createEvent(2);
+        when(eventClient.getEventById(userId, eventDto.id()))
+                .thenReturn(new ResponseEntity<>(eventDto, HttpStatus.OK));
+        when(eventClient.getTeamsByEventId(userId, eventDto.id()))
+                .thenReturn(new ResponseEntity<>(List.of(teamMemberDto1, teamMemberDto2), HttpStatus.OK));
+        when(eventClient.getTeamsByEventIds(userId, List.of(secondEvent.id())))
+                .thenReturn(new ResponseEntity<>(List.of(createEventTeam(secondEvent, teamMemberDto1)), HttpStatus.OK));
+
+        eventServiceHelper.checkIfEventExistsAndUsersAreEventTeamMembers(userId, eventDto.id(), assigneeId);
+        eventServiceHelper.checkIfEventsExistAndUsersAreEventTeamMembers(userId, List.of(
+                new EventTeamMember(eventDto.id(), assigneeId),
+                new EventTeamMember(secondEvent.id(), userId)));
+
+        verify(eventClient, times(1)).getTeamsByEventIds(userId, List.of(secondEvent.id()));
+    }
+
+    @Test
+    @DisplayName("Bulk check, event not found")
+    void checkIfEventsExistAndUsersAreEventTeamMembers_whenEventIsMissing_shouldThrowNotFoundException() {
+        EventDto secondEvent = createEvent(2);
+        when(eventClient.getTeamsByEventIds(userId, List.of(eventDto.id(), secondEvent.id())))
+                .thenReturn(new ResponseEntity<>(List.of(createEventTeam(eventDto, teamMemberDto1)), HttpStatus.OK));
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> eventServiceHelper.checkIfEventsExistAndUsersAreEventTeamMembers(userId, List.of(
+                        new EventTeamMember(eventDto.id(), userId),
+                        new EventTeamMember(secondEvent.id(), userId))));
+
+        assertThat(ex.getMessage(), is(String.format("Event with id '%s' was not found", secondEvent.id())));
+    }
+
+    @Test
+    @DisplayName("Bulk check, user is not a team member of one event")
+    void checkIfEventsExistAndUsersAreEventTeamMembers_whenUserIsNotATeamMember_shouldThrowNotAuthorizedException() {
+        EventDto secondEvent = createEvent(2);
+        when(eventClient.getTeamsByEventIds(any(), any()))
+                .thenReturn(new ResponseEntity<>(List.of(
+                        createEventTeam(eventDto, teamMemberDto1, teamMemberDto2),
+                        createEventTeam(secondEvent, teamMemberDto1)), HttpStatus.OK));
+
+        NotAuthorizedException ex = assertThrows(NotAuthorizedException.class,
+                () -> eventServiceHelper.checkIfEventsExistAndUsersAreEventTeamMembers(userId, List.of(
+                        new EventTeamMember(eventDto.id(), assigneeId),
+                        new EventTeamMember(secondEvent.id(), assigneeId))));
+
+        assertThat(ex.getMessage(), is(String.format("User is with id '%s' not a team member for event with id '%s'",
+                assigneeId, secondEvent.id())));
+    }
+
+    private EventTeamDto createEventTeam(EventDto event, TeamMemberDto... teamMembers) {
+        return EventTeamDto.builder()
+                .eventId(event.id())
+                .ownerId(event.ownerId())
+                .teamMembers(List.of(teamMembers))
+                .build();
+    }
+
     private EventDto createEvent(int id) {
         return EventDto.builder()
                 .id((long) id)
@@ -0,0 +1,80 @@
+package ru.mssecondteam.taskservice.service.authorization;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.mssecondteam.taskservice.service.authorization.AuthorizationCheck.local;
+import static ru.mssecondteam.taskservice.service.authorization.AuthorizationCheck.remote;
+
+class AuthorizationPipelineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthorizationPipeline authorizationPipeline;
+
+    private List<String> executed;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        authorizationPipeline = new AuthorizationPipeline(meterRegistry);
+        executed = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Local checks run before remote checks")
+    void authorize_whenRemoteCheckDeclaredFirst_shouldRunLocalChecksFirst() {
+        authorizationPipeline.authorize("operation",
+                remote("remote", () -> executed.add("remote")),
+                local("first-local", () -> executed.add("first-local")),
+                local("second-local", () -> executed.add("second-local")));
+
+        assertThat(executed, contains("first-local", "second-local", "remote"));
+    }
+
+    @Test
+    @DisplayName("Failed local check skips remote checks")
+    void authorize_whenLocalCheckFails_shouldNotRunRemoteCheck() {
+        assertThrows(NotAuthorizedException.class, () -> authorizationPipeline.authorize("operation",
+                remote("remote", () -> executed.add("remote")),
+                local("local", () -> {
+                    throw new NotAuthorizedException("denied");
+                })));
+
+        assertThat(executed.isEmpty(), is(true));
+    }
+
+    @Test
+    @DisplayName("Rejection is counted by operation and stage")
+    void authorize_whenCheckFails_shouldCountRejection() {
+        assertThrows(NotAuthorizedException.class, () -> authorizationPipeline.authorize("delete-task",
+                local("task-author", () -> {
+                    throw new NotAuthorizedException("denied");
+                })));
+
+        assertThat(meterRegistry.get("authorization.rejections")
+                .tag("operation", "delete-task")
+                .tag("stage", "task-author")
+                .counter()
+                .count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Successful checks are not counted")
+    void authorize_whenAllChecksPass_shouldNotCountRejection() {
+        authorizationPipeline.authorize("operation", local("local", () -> executed.add("local")));
+
+        assertThat(meterRegistry.find("authorization.rejections").counter(), nullValue());
+    }
+}
@@ -0,0 +1,165 @@
+package ru.mssecondteam.taskservice.service.epic;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.mssecondteam.taskservice.dto.epic.EpicUpdateRequest;
+import ru.mssecondteam.taskservice.mapper.EpicMapper;
+import ru.mssecondteam.taskservice.model.Epic;
+import ru.mssecondteam.taskservice.model.Task;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.repository.epic.EpicRepository;
+import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusKey;
+import ru.mssecondteam.taskservice.service.EventServiceHelper;
+import ru.mssecondteam.taskservice.service.authorization.AuthorizationPipeline;
+import ru.mssecondteam.taskservice.service.impl.EpicServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EpicServiceImplTest {
+
+    @Mock
+    private EpicRepository epicRepository;
+
+    @Mock
+    private EpicMapper epicMapper;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EventServiceHelper eventServiceHelper;
+
+    @Spy
+    private AuthorizationPipeline authorizationPipeline = new AuthorizationPipeline(new SimpleMeterRegistry());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EpicServiceImpl epicService;
+
+    private Epic epic;
+
+    private Long epicId;
+
+    private Long executiveId;
+
+    @BeforeEach
+    void setUp() {
+        epicId = 1L;
+        executiveId = 2L;
+        epic = Epic.builder()
+                .id(epicId)
+                .title("epic")
+                .executiveId(executiveId)
+                .eventId(3L)
+                .deadline(LocalDateTime.now().plusDays(10))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Update epic by executive without changing executive skips membership check")
+    void updateEpic_whenExecutiveUpdatesTitle_shouldNotCheckMembership() {
+        EpicUpdateRequest updateRequest = EpicUpdateRequest.builder()
+                .title("updated title")
+                .build();
+        when(epicRepository.findById(epicId))
+                .thenReturn(Optional.of(epic));
+        doNothing().when(epicMapper).updateEpic(updateRequest, epic);
+        when(epicRepository.save(epic))
+                .thenReturn(epic);
+
+        epicService.updateEpic(executiveId, epicId, updateRequest);
+
+        verify(eventServiceHelper, never()).checkIfEventExistsAndUsersAreEventTeamMembers(any(), any(), any());
+        verify(epicRepository, times(1)).save(epic);
+    }
+
+    @Test
+    @DisplayName("Update epic by other user checks membership")
+    void updateEpic_whenUpdatedByOtherUser_shouldCheckMembership() {
+        Long userId = 4L;
+        EpicUpdateRequest updateRequest = EpicUpdateRequest.builder()
+                .title("updated title")
+                .build();
+        when(epicRepository.findById(epicId))
+                .thenReturn(Optional.of(epic));
+        doNothing().when(epicMapper).updateEpic(updateRequest, epic);
+        when(epicRepository.save(epic))
+                .thenReturn(epic);
+
+        epicService.updateEpic(userId, epicId, updateRequest);
+
+        verify(eventServiceHelper, times(1))
+                .checkIfEventExistsAndUsersAreEventTeamMembers(userId, epic.getEventId(), executiveId);
+    }
+
+    @Test
+    @DisplayName("Update epic executive checks membership of new executive")
+    void updateEpic_whenExecutiveChanged_shouldCheckMembership() {
+        Long newExecutiveId = 5L;
+        EpicUpdateRequest updateRequest = EpicUpdateRequest.builder()
+                .executiveId(newExecutiveId)
+                .build();
+        when(epicRepository.findById(epicId))
+                .thenReturn(Optional.of(epic));
+        doAnswer(invocation -> {
+            epic.setExecutiveId(newExecutiveId);
+            return null;
+        }).when(epicMapper).updateEpic(updateRequest, epic);
+        when(epicRepository.save(epic))
+                .thenReturn(epic);
+
+        epicService.updateEpic(executiveId, epicId, updateRequest);
+
+        verify(eventServiceHelper, times(1))
+                .checkIfEventExistsAndUsersAreEventTeamMembers(executiveId, epic.getEventId(), newExecutiveId);
+    }
+
+    @Test
+    @DisplayName("Add task to epic moves task to status counter of epic")
+    void addTaskToEpic_whenTaskCounted_shouldMoveStatusCountToEpic() {
+        Task task = Task.builder()
+                .id(6L)
+                .eventId(epic.getEventId())
+                .status(TaskStatus.IN_PROGRESS)
+                .build();
+        TaskStatusKey counted = new TaskStatusKey(epic.getEventId(), null, TaskStatus.IN_PROGRESS);
+        when(epicRepository.findById(epicId))
+                .thenReturn(Optional.of(epic));
+        when(taskRepository.findById(task.getId()))
+                .thenReturn(Optional.of(task));
+        when(taskRepository.findStatusKeyForUpdate(task.getId()))
+                .thenReturn(Optional.of(counted));
+        when(epicRepository.save(epic))
+                .thenReturn(epic);
+
+        epicService.addTaskToEpic(executiveId, epicId, task.getId());
+
+        verify(taskRepository, times(1))
+                .moveStatusCount(counted, new TaskStatusKey(epic.getEventId(), epicId, TaskStatus.IN_PROGRESS));
+    }
+}
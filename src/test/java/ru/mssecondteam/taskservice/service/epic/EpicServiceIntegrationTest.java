@@ -17,6 +17,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
+import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.dto.epic.EpicUpdateRequest;
 import ru.mssecondteam.taskservice.dto.event.EventDto;
 import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
@@ -48,7 +49,8 @@ import static org.junit.Assert.assertThrows;
 @Transactional
 @AutoConfigureWireMock(port = 0)
 @TestPropertySource(properties = {
-        "event-service.url=localhost:${wiremock.server.port}"
+        "event-service.url=localhost:${wiremock.server.port}",
+        "event-service.membership-cache.enabled=false"
 })
 public class EpicServiceIntegrationTest {
     private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
@@ -620,19 +622,19 @@ public class EpicServiceIntegrationTest {
         assertThat(taskToAdd.getEpic(), is(nullValue()));
 
         epicService.addTaskToEpic(epicToAdd.getExecutiveId(), epicToAdd.getId(), taskToAdd.getId());
-        Task addedTask = taskService.findTaskById(taskToAdd.getId());
+        TaskDto addedTask = taskService.findTaskById(taskToAdd.getId());
 
         assertThat(addedTask, notNullValue());
-        assertThat(addedTask.getId(), is(taskToAdd.getId()));
-        assertThat(addedTask.getAuthorId(), is(taskToAdd.getAuthorId()));
-        assertThat(addedTask.getAssigneeId(), is(taskToAdd.getAssigneeId()));
-        assertThat(addedTask.getTitle(), is(taskToAdd.getTitle()));
-        assertThat(addedTask.getDescription(), is(taskToAdd.getDescription()));
-        assertThat(addedTask.getDeadline(), is(taskToAdd.getDeadline()));
-        assertThat(addedTask.getStatus(), is(taskToAdd.getStatus()));
-        assertThat(addedTask.getEventId(), is(taskToAdd.getEventId()));
-        assertThat(addedTask.getCreatedAt(), is(taskToAdd.getCreatedAt()));
-        assertThat(addedTask.getEpic().getId(), is(epicToAdd.getId()));
+        assertThat(addedTask.id(), is(taskToAdd.getId()));
+        assertThat(addedTask.authorId(), is(taskToAdd.getAuthorId()));
+        assertThat(addedTask.assigneeId(), is(taskToAdd.getAssigneeId()));
+        assertThat(addedTask.title(), is(taskToAdd.getTitle()));
+        assertThat(addedTask.description(), is(taskToAdd.getDescription()));
+        assertThat(addedTask.deadline(), is(taskToAdd.getDeadline()));
+        assertThat(addedTask.status(), is(taskToAdd.getStatus()));
+        assertThat(addedTask.eventId(), is(taskToAdd.getEventId()));
+        assertThat(addedTask.createdAt(), is(taskToAdd.getCreatedAt()));
+        assertThat(addedTask.epicId(), is(epicToAdd.getId()));
     }
 
     @Test
@@ -683,13 +685,13 @@ public class EpicServiceIntegrationTest {
 
 
         epicService.addTaskToEpic(epicToAdd.getExecutiveId(), epicToAdd.getId(), taskToAdd.getId());
-        Task addedTask = taskService.findTaskById(taskToAdd.getId());
+        TaskDto addedTask = taskService.findTaskById(taskToAdd.getId());
 
         OperationNotAllowedException ex = assertThrows(OperationNotAllowedException.class,
-                () -> epicService.addTaskToEpic(epicToAdd.getExecutiveId(), epicToAdd.getId(), addedTask.getId()));
+                () -> epicService.addTaskToEpic(epicToAdd.getExecutiveId(), epicToAdd.getId(), addedTask.id()));
 
         assertThat(ex.getMessage(), is(String.format("Task with id '%s' already belongs to epic with id '%s'",
-                addedTask.getId(), addedTask.getEpic().getId())));
+                addedTask.id(), addedTask.epicId())));
 
     }
 
@@ -934,24 +936,24 @@ public class EpicServiceIntegrationTest {
         assertThat(createdTask.getEpic(), is(nullValue()));
 
         epicService.addTaskToEpic(createdEpic.getExecutiveId(), createdEpic.getId(), createdTask.getId());
-        Task addedTask = taskService.findTaskById(createdTask.getId());
+        TaskDto addedTask = taskService.findTaskById(createdTask.getId());
 
-        assertThat(addedTask.getEpic().getId(), is(createdEpic.getId()));
+        assertThat(addedTask.epicId(), is(createdEpic.getId()));
 
-        epicService.deleteTaskFromEpic(createdEpic.getExecutiveId(), createdEpic.getId(), addedTask.getId());
-        Task deletedFromEpicTask = taskService.findTaskById(addedTask.getId());
+        epicService.deleteTaskFromEpic(createdEpic.getExecutiveId(), createdEpic.getId(), addedTask.id());
+        TaskDto deletedFromEpicTask = taskService.findTaskById(addedTask.id());
 
         assertThat(deletedFromEpicTask, notNullValue());
-        assertThat(deletedFromEpicTask.getId(), is(createdTask.getId()));
-        assertThat(deletedFromEpicTask.getAuthorId(), is(createdTask.getAuthorId()));
-        assertThat(deletedFromEpicTask.getAssigneeId(), is(createdTask.getAssigneeId()));
-        assertThat(deletedFromEpicTask.getTitle(), is(createdTask.getTitle()));
-        assertThat(deletedFromEpicTask.getDescription(), is(createdTask.getDescription()));
-        assertThat(deletedFromEpicTask.getDeadline(), is(createdTask.getDeadline()));
-        assertThat(deletedFromEpicTask.getStatus(), is(createdTask.getStatus()));
-        assertThat(deletedFromEpicTask.getEventId(), is(createdTask.getEventId()));
-        assertThat(deletedFromEpicTask.getCreatedAt(), is(createdTask.getCreatedAt()));
-        assertThat(deletedFromEpicTask.getEpic(), is(nullValue()));
+        assertThat(deletedFromEpicTask.id(), is(createdTask.getId()));
+        assertThat(deletedFromEpicTask.authorId(), is(createdTask.getAuthorId()));
+        assertThat(deletedFromEpicTask.assigneeId(), is(createdTask.getAssigneeId()));
+        assertThat(deletedFromEpicTask.title(), is(createdTask.getTitle()));
+        assertThat(deletedFromEpicTask.description(), is(createdTask.getDescription()));
+        assertThat(deletedFromEpicTask.deadline(), is(createdTask.getDeadline()));
+        assertThat(deletedFromEpicTask.status(), is(createdTask.getStatus()));
+        assertThat(deletedFromEpicTask.eventId(), is(createdTask.getEventId()));
+        assertThat(deletedFromEpicTask.createdAt(), is(createdTask.getCreatedAt()));
+        assertThat(deletedFromEpicTask.epicId(), is(nullValue()));
     }
 
     @Test
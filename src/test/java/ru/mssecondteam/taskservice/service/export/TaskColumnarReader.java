@@ -0,0 +1,136 @@
+package ru.mssecondteam.taskservice.service.export;
+
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reference decoder of the {@link TaskColumnarWriter} format, the way an analytics job would read it.
+ */
+class TaskColumnarReader {
+
+    private final DataInputStream input;
+
+    private final List<String> dictionary = new ArrayList<>();
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    TaskColumnarReader(byte[] data) {
+        this.input = new DataInputStream(new ByteArrayInputStream(data));
+    }
+
+    List<String> dictionary() {
+        return dictionary;
+    }
+
+    List<Integer> batchSizes() {
+        return batchSizes;
+    }
+
+    List<TaskDto> readAll() throws IOException {
+        readHeader();
+        final List<TaskDto> tasks = new ArrayList<>();
+        int rows;
+        while ((rows = input.readInt()) > 0) {
+            batchSizes.add(rows);
+            final Long[] ids = readLongs(rows);
+            final Long[] eventIds = readLongs(rows);
+            final Long[] authorIds = readLongs(rows);
+            final Long[] assigneeIds = readLongs(rows);
+            final Long[] epicIds = readLongs(rows);
+            final Long[] createdAt = readLongs(rows);
+            final Long[] deadlines = readLongs(rows);
+            final String[] statuses = readStatuses(rows);
+            final String[] titles = readStrings(rows);
+            final String[] descriptions = readStrings(rows);
+            for (int i = 0; i < rows; i++) {
+                tasks.add(TaskDto.builder()
+                        .id(ids[i])
+                        .eventId(eventIds[i])
+                        .authorId(authorIds[i])
+                        .assigneeId(assigneeIds[i])
+                        .epicId(epicIds[i])
+                        .createdAt(toDateTime(createdAt[i]))
+                        .deadline(toDateTime(deadlines[i]))
+                        .status(statuses[i] == null ? null : TaskStatus.valueOf(statuses[i]))
+                        .title(titles[i])
+                        .description(descriptions[i])
+                        .build());
+            }
+        }
+        if (input.read() != -1) {
+            throw new IOException("Data after end of export");
+        }
+        return tasks;
+    }
+
+    private void readHeader() throws IOException {
+        final byte[] magic = input.readNBytes(TaskColumnarWriter.MAGIC.length);
+        if (!Arrays.equals(magic, TaskColumnarWriter.MAGIC) || input.readByte() != TaskColumnarWriter.VERSION) {
+            throw new IOException("Not a task columnar export");
+        }
+        final int entries = input.readUnsignedByte();
+        for (int i = 0; i < entries; i++) {
+            dictionary.add(new String(input.readNBytes(input.readUnsignedShort()), StandardCharsets.UTF_8));
+        }
+    }
+
+    private boolean[] readValidity(int rows) throws IOException {
+        final byte[] bitmap = input.readNBytes((rows + 7) / 8);
+        final boolean[] valid = new boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            valid[i] = (bitmap[i >>> 3] & (1 << (i & 7))) != 0;
+        }
+        return valid;
+    }
+
+    private Long[] readLongs(int rows) throws IOException {
+        final boolean[] valid = readValidity(rows);
+        final Long[] values = new Long[rows];
+        for (int i = 0; i < rows; i++) {
+            final long value = input.readLong();
+            values[i] = valid[i] ? value : null;
+        }
+        return values;
+    }
+
+    private String[] readStatuses(int rows) throws IOException {
+        final boolean[] valid = readValidity(rows);
+        final String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            final int index = input.readUnsignedByte();
+            values[i] = valid[i] ? dictionary.get(index) : null;
+        }
+        return values;
+    }
+
+    private String[] readStrings(int rows) throws IOException {
+        final boolean[] valid = readValidity(rows);
+        final int[] offsets = new int[rows + 1];
+        for (int i = 0; i <= rows; i++) {
+            offsets[i] = input.readInt();
+        }
+        final byte[] data = input.readNBytes(offsets[rows]);
+        final String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = valid[i]
+                    ? new String(data, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8)
+                    : null;
+        }
+        return values;
+    }
+
+    private static LocalDateTime toDateTime(Long epochMilli) {
+        return epochMilli == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.mssecondteam.taskservice.service.export;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+class TaskColumnarWriterTest {
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Columnar export is decoded back to the same tasks, nulls included")
+    void write_whenTasksHaveNullFields_shouldDecodeSameTasks() {
+        List<TaskDto> tasks = List.of(
+                TaskDto.builder()
+                        .id(1L)
+                        .title("Подготовить площадку")
+                        .description("Venue, chairs & stage")
+                        .createdAt(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_000_000))
+                        .deadline(LocalDateTime.of(2024, 4, 1, 18, 0))
+                        .status(TaskStatus.IN_PROGRESS)
+                        .assigneeId(2L)
+                        .authorId(3L)
+                        .eventId(5L)
+                        .epicId(7L)
+                        .build(),
+                TaskDto.builder()
+                        .id(2L)
+                        .title("")
+                        .createdAt(LocalDateTime.of(1969, 12, 31, 23, 59))
+                        .status(TaskStatus.CANCELLED)
+                        .authorId(3L)
+                        .eventId(5L)
+                        .build());
+
+        TaskColumnarReader reader = new TaskColumnarReader(write(tasks));
+
+        assertThat(reader.readAll(), is(tasks));
+        assertThat(reader.dictionary(), contains("TODO", "IN_PROGRESS", "DONE", "CANCELLED"));
+        assertThat(reader.batchSizes(), contains(2));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Columnar export splits tasks into batches")
+    void write_whenMoreTasksThanBatchSize_shouldWriteSeveralBatches() {
+        List<TaskDto> tasks = new ArrayList<>();
+        for (long id = 1; id <= TaskColumnarWriter.BATCH_SIZE * 2L + 1; id++) {
+            tasks.add(TaskDto.builder()
+                    .id(id)
+                    .title("Task " + id)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(id))
+                    .status(TaskStatus.TODO)
+                    .authorId(1L)
+                    .eventId(5L)
+                    .build());
+        }
+
+        TaskColumnarReader reader = new TaskColumnarReader(write(tasks));
+
+        assertThat(reader.readAll(), is(tasks));
+        assertThat(reader.batchSizes(),
+                contains(TaskColumnarWriter.BATCH_SIZE, TaskColumnarWriter.BATCH_SIZE, 1));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Columnar export of no tasks contains header only")
+    void write_whenNoTasks_shouldWriteEmptyExport() {
+        TaskColumnarReader reader = new TaskColumnarReader(write(List.of()));
+
+        assertThat(reader.readAll(), empty());
+        assertThat(reader.batchSizes(), empty());
+    }
+
+    private static byte[] write(List<TaskDto> tasks) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (TaskColumnarWriter writer = new TaskColumnarWriter(output)) {
+            tasks.forEach(writer);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,41 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.config.MembershipCacheProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class EventMembershipCacheEndpointTest {
+
+    private EventMembershipCache membershipCache;
+
+    private EventMembershipCacheEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        membershipCache = new EventMembershipCache(
+                new MembershipCacheProperties(true, Duration.ofMinutes(10), 100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+        endpoint = new EventMembershipCacheEndpoint(membershipCache);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Cached membership is serialized with sorted team member ids")
+    void membership_whenMembershipCached_shouldSerializeTeamMemberIds() {
+        membershipCache.update(EventMembership.of(1L, 2L, Set.of(5L, 3L)));
+
+        String json = new ObjectMapper().writeValueAsString(endpoint.membership(1L));
+
+        assertThat(json, is("{\"eventId\":1,\"ownerId\":2,\"teamMembersIds\":[2,3,5]}"));
+    }
+}
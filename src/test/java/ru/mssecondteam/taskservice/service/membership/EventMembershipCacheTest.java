@@ -0,0 +1,84 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.config.MembershipCacheProperties;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventMembershipCacheTest {
+
+    private EventMembershipCache membershipCache;
+
+    private EventMembership membership;
+
+    @BeforeEach
+    void setUp() {
+        membershipCache = new EventMembershipCache(
+                new MembershipCacheProperties(true, Duration.ofMinutes(10), 100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+        membership = EventMembership.of(1L, 2L, Set.of(3L));
+    }
+
+    @Test
+    @DisplayName("Pushed membership replaces cached one")
+    void update_whenMembershipCached_shouldReplaceIt() {
+        membershipCache.get(1L, eventId -> membership);
+        EventMembership updatedMembership = EventMembership.of(1L, 2L, Set.of(4L));
+
+        membershipCache.update(updatedMembership);
+
+        EventMembership cached = membershipCache.get(1L, eventId -> {
+            throw new IllegalStateException("Membership must be served from cache");
+        });
+        assertThat(cached, is(updatedMembership));
+        assertThat(cached.isTeamMember(3L), is(false));
+    }
+
+    @Test
+    @DisplayName("Pushed membership replaces cached not found result")
+    void update_whenEventCachedAsNotFound_shouldReplaceNotFoundResult() {
+        assertThrows(NotFoundException.class, () -> membershipCache.get(1L, eventId -> {
+            throw new NotFoundException("Event was not found");
+        }));
+
+        membershipCache.update(membership);
+
+        assertThat(membershipCache.get(1L, eventId -> null), is(membership));
+    }
+
+    @Test
+    @DisplayName("Membership loaded before invalidation is not cached")
+    void get_whenInvalidatedDuringLoad_shouldNotCacheLoadedMembership() {
+        EventMembership loaded = membershipCache.get(1L, eventId -> {
+            membershipCache.invalidate(eventId);
+            return membership;
+        });
+
+        assertThat(loaded, is(membership));
+        assertThat(membershipCache.find(1L), is(Optional.empty()));
+    }
+
+    @Test
+    @DisplayName("Memberships loaded in bulk before push are not cached over pushed one")
+    void getAll_whenUpdatedDuringLoad_shouldKeepPushedMembership() {
+        EventMembership pushedMembership = EventMembership.of(1L, 2L, Set.of(4L));
+
+        membershipCache.getAll(Set.of(1L), eventIds -> {
+            membershipCache.update(pushedMembership);
+            return Map.of(1L, membership);
+        });
+
+        assertThat(membershipCache.find(1L), is(Optional.of(pushedMembership)));
+    }
+}
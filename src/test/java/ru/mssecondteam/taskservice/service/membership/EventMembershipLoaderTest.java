@@ -0,0 +1,301 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import ru.mssecondteam.taskservice.client.EventClient;
+import ru.mssecondteam.taskservice.client.EventClientGuard;
+import ru.mssecondteam.taskservice.client.EventClientGuards;
+import ru.mssecondteam.taskservice.client.StubEventClient;
+import ru.mssecondteam.taskservice.dto.event.EventDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberDto;
+import ru.mssecondteam.taskservice.dto.event.TeamMemberRole;
+import ru.mssecondteam.taskservice.exception.EventServiceUnavailableException;
+import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventMembershipLoaderTest {
+
+    @Mock
+    private EventClient eventClient;
+
+    private ExecutorService eventClientExecutor;
+
+    private EventMembershipLoader membershipLoader;
+
+    private Long userId;
+
+    private EventDto event;
+
+    private TeamMemberDto teamMember;
+
+    @BeforeEach
+    void setUp() {
+        eventClientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        membershipLoader = createLoader(eventClient, EventClientGuards.guard(eventClientExecutor));
+        userId = 3L;
+        event = EventDto.builder()
+                .id(7L)
+                .name("event")
+                .ownerId(11L)
+                .build();
+        teamMember = TeamMemberDto.builder()
+                .eventId(event.id())
+                .userId(userId)
+                .role(TeamMemberRole.MEMBER)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventClientExecutor.close();
+    }
+
+    @Test
+    @DisplayName("Event and team are requested concurrently")
+    void load_shouldIssueBothCallsConcurrently() {
+        CountDownLatch bothCallsStarted = new CountDownLatch(2);
+        when(eventClient.getEventById(userId, event.id()))
+                .thenAnswer(invocation -> {
+                    awaitOtherCall(bothCallsStarted);
+                    return ResponseEntity.ok(event);
+                });
+        when(eventClient.getTeamsByEventId(userId, event.id()))
+                .thenAnswer(invocation -> {
+                    awaitOtherCall(bothCallsStarted);
+                    return ResponseEntity.ok(List.of(teamMember));
+                });
+
+        EventMembership membership = membershipLoader.load(userId, event.id());
+
+        assertThat(membership.eventId(), is(event.id()));
+        assertThat(membership.isTeamMember(userId), is(true));
+        assertThat(membership.isTeamMember(event.ownerId()), is(true));
+    }
+
+    @Test
+    @DisplayName("Team call failure is propagated and event call is cancelled")
+    void load_whenTeamCallFails_shouldPropagateExceptionAndCancelEventCall() {
+        CountDownLatch eventCallInterrupted = new CountDownLatch(1);
+        when(eventClient.getEventById(userId, event.id()))
+                .thenAnswer(invocation -> {
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                    } catch (InterruptedException ex) {
+                        eventCallInterrupted.countDown();
+                    }
+                    return ResponseEntity.ok(event);
+                });
+        when(eventClient.getTeamsByEventId(userId, event.id()))
+                .thenThrow(new NotFoundException("Event was not found"));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> membershipLoader.load(userId, event.id()));
+
+        assertThat(ex.getMessage(), is("Event was not found"));
+        assertTrue(await(eventCallInterrupted));
+    }
+
+    @Test
+    @DisplayName("Interrupted caller cancels both calls")
+    void load_whenCallerInterrupted_shouldCancelBothCalls() throws InterruptedException {
+        CountDownLatch callsStarted = new CountDownLatch(2);
+        CountDownLatch callsInterrupted = new CountDownLatch(2);
+        when(eventClient.getEventById(userId, event.id()))
+                .thenAnswer(invocation -> sleepUntilInterrupted(callsStarted, callsInterrupted));
+        when(eventClient.getTeamsByEventId(userId, event.id()))
+                .thenAnswer(invocation -> sleepUntilInterrupted(callsStarted, callsInterrupted));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                membershipLoader.load(userId, event.id());
+            } catch (RuntimeException ex) {
+                failure.set(ex);
+            }
+        });
+        assertTrue(await(callsStarted));
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertThat(failure.get() instanceof IllegalStateException, is(true));
+        assertThat(failure.get().getCause() instanceof InterruptedException, is(true));
+        assertTrue(await(callsInterrupted));
+    }
+
+    @Test
+    @DisplayName("Team member that joined a load of unauthorized user loads membership itself")
+    void load_whenJoinedLoadOfUnauthorizedUser_shouldLoadMembershipForTeamMember() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventMembershipLoader sharedLoader = new EventMembershipLoader(eventClient,
+                EventClientGuards.guard(eventClientExecutor),
+                new StaleMembershipStore(EventClientGuards.properties(), new SimpleMeterRegistry()), meterRegistry);
+        Long outsiderId = 4L;
+        CountDownLatch outsiderCallStarted = new CountDownLatch(1);
+        when(eventClient.getEventById(outsiderId, event.id()))
+                .thenAnswer(invocation -> {
+                    outsiderCallStarted.countDown();
+                    awaitCoalesced(meterRegistry);
+                    throw new NotAuthorizedException("User is not authorized to access event");
+                });
+        lenient().when(eventClient.getTeamsByEventId(outsiderId, event.id()))
+                .thenReturn(ResponseEntity.ok(List.of(teamMember)));
+        when(eventClient.getEventById(userId, event.id()))
+                .thenReturn(ResponseEntity.ok(event));
+        when(eventClient.getTeamsByEventId(userId, event.id()))
+                .thenReturn(ResponseEntity.ok(List.of(teamMember)));
+
+        CompletableFuture<EventMembership> outsiderLoad = CompletableFuture.supplyAsync(
+                () -> sharedLoader.load(outsiderId, event.id()), eventClientExecutor);
+        assertTrue(await(outsiderCallStarted));
+        CompletableFuture<EventMembership> memberLoad = CompletableFuture.supplyAsync(
+                () -> sharedLoader.load(userId, event.id()), eventClientExecutor);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> outsiderLoad.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause() instanceof NotAuthorizedException, is(true));
+        assertThat(memberLoad.get(5, TimeUnit.SECONDS).isTeamMember(userId), is(true));
+        verify(eventClient, times(1)).getEventById(userId, event.id());
+    }
+
+    @Test
+    @DisplayName("Membership invalidated during load is not stored as stale fallback")
+    void load_whenInvalidatedDuringLoad_shouldNotStoreStaleMembership() {
+        StaleMembershipStore staleMemberships = new StaleMembershipStore(EventClientGuards.properties(),
+                new SimpleMeterRegistry());
+        EventMembershipLoader storingLoader = new EventMembershipLoader(eventClient,
+                EventClientGuards.guard(eventClientExecutor), staleMemberships, new SimpleMeterRegistry());
+        when(eventClient.getEventById(userId, event.id()))
+                .thenReturn(ResponseEntity.ok(event));
+        when(eventClient.getTeamsByEventId(userId, event.id()))
+                .thenAnswer(invocation -> {
+                    staleMemberships.invalidate(event.id());
+                    return ResponseEntity.ok(List.of(teamMember));
+                });
+
+        EventMembership membership = storingLoader.load(userId, event.id());
+
+        assertThat(membership.isTeamMember(userId), is(true));
+        assertThat(staleMemberships.fallback(event.id()).isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Bulk load splits large event sets into chunks")
+    void loadAll_whenManyEvents_shouldRequestTeamsInChunks() {
+        StubEventClient stubEventClient = new StubEventClient();
+        List<Long> eventsIds = LongStream.rangeClosed(1, 250).boxed().toList();
+        eventsIds.forEach(eventId -> stubEventClient.withEvent(EventDto.builder().id(eventId).ownerId(eventId).build(),
+                List.of(new TeamMemberDto(eventId, userId, TeamMemberRole.MEMBER))));
+        EventMembershipLoader stubMembershipLoader = createLoader(stubEventClient,
+                EventClientGuards.guard(eventClientExecutor));
+
+        Map<Long, EventMembership> memberships = stubMembershipLoader.loadAll(userId, eventsIds);
+
+        assertThat(memberships.size(), is(250));
+        assertThat(memberships.get(250L).isTeamMember(userId), is(true));
+        assertThat(memberships.get(250L).isTeamMember(250L), is(true));
+        assertThat(stubEventClient.getCalls(), is(3));
+    }
+
+    @Test
+    @DisplayName("Open circuit breaker serves last known membership")
+    void load_whenCircuitBreakerOpen_shouldServeStaleMembership() {
+        EventMembershipLoader guardedLoader = createLoader(eventClient,
+                EventClientGuards.guard(eventClientExecutor, EventClientGuards.properties(Duration.ofSeconds(5), 10, 1)));
+        when(eventClient.getEventById(userId, event.id()))
+                .thenReturn(ResponseEntity.ok(event));
+        when(eventClient.getTeamsByEventId(userId, event.id()))
+                .thenReturn(ResponseEntity.ok(List.of(teamMember)))
+                .thenThrow(new EventServiceUnavailableException("Event service responded with status '500'"));
+        guardedLoader.load(userId, event.id());
+        assertThrows(EventServiceUnavailableException.class, () -> guardedLoader.load(userId, event.id()));
+
+        EventMembership membership = guardedLoader.load(userId, event.id());
+
+        assertThat(membership.isTeamMember(userId), is(true));
+        verify(eventClient, times(2)).getTeamsByEventId(userId, event.id());
+    }
+
+    @Test
+    @DisplayName("Open circuit breaker without stale membership is rejected")
+    void load_whenCircuitBreakerOpenAndNoStaleMembership_shouldThrowEventServiceUnavailableException() {
+        EventMembershipLoader guardedLoader = createLoader(eventClient,
+                EventClientGuards.guard(eventClientExecutor, EventClientGuards.properties(Duration.ofSeconds(5), 10, 1)));
+        lenient().when(eventClient.getEventById(userId, event.id()))
+                .thenReturn(ResponseEntity.ok(event));
+        when(eventClient.getTeamsByEventId(userId, event.id()))
+                .thenThrow(new EventServiceUnavailableException("Event service responded with status '500'"));
+        assertThrows(EventServiceUnavailableException.class, () -> guardedLoader.load(userId, event.id()));
+
+        EventServiceUnavailableException ex = assertThrows(EventServiceUnavailableException.class,
+                () -> guardedLoader.load(userId, event.id()));
+
+        assertThat(ex.getMessage(), is("Event service call 'EVENT' rejected, circuit breaker is open"));
+    }
+
+    private static EventMembershipLoader createLoader(EventClient eventClient, EventClientGuard eventClientGuard) {
+        return new EventMembershipLoader(eventClient, eventClientGuard,
+                new StaleMembershipStore(EventClientGuards.properties(), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+    }
+
+    private static void awaitCoalesced(SimpleMeterRegistry meterRegistry) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("single.flight.calls").tag("result", "coalesced").counter().count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitOtherCall(CountDownLatch latch) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Calls were not issued concurrently");
+        }
+    }
+
+    private static ResponseEntity<Object> sleepUntilInterrupted(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            interrupted.countDown();
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.exception.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight<Long, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Concurrent calls with the same key share one execution")
+    void execute_whenCalledConcurrentlyWithSameKey_shouldExecuteOnce() throws Exception {
+        int callers = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    executions.incrementAndGet();
+                    awaitRelease(release);
+                    return "result";
+                })));
+            }
+            awaitCoalesced(callers - 1);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS), is("result"));
+            }
+        }
+
+        assertThat(executions.get(), is(1));
+        assertThat(count("executed"), is(1.0));
+        assertThat(count("coalesced"), is((double) callers - 1));
+        assertThat(singleFlight.inFlightCount(), is(0));
+    }
+
+    @Test
+    @DisplayName("Failure is propagated to every waiting caller")
+    void execute_whenCallFails_shouldPropagateFailureToAllCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> singleFlight.execute(1L, () -> {
+                awaitRelease(release);
+                throw new NotFoundException("Event was not found");
+            }));
+            awaitInFlight();
+            Future<String> second = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+            awaitCoalesced(1);
+            release.countDown();
+
+            Exception firstFailure = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+            Exception secondFailure = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertThat(firstFailure.getCause(), instanceOf(NotFoundException.class));
+            assertThat(secondFailure.getCause(), instanceOf(NotFoundException.class));
+        }
+
+        assertThat(singleFlight.inFlightCount(), is(0));
+    }
+
+    @Test
+    @DisplayName("Sequential calls are executed separately")
+    void execute_whenCalledSequentially_shouldExecuteEachCall() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "first" + executions.incrementAndGet());
+        String second = singleFlight.execute(1L, () -> "second" + executions.incrementAndGet());
+
+        assertThat(second, is("second2"));
+        assertThat(count("executed"), is(2.0));
+        assertThat(count("coalesced"), is(0.0));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("single.flight.calls").tag("name", "test").tag("result", result).counter().count();
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.inFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitRelease(CountDownLatch release) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
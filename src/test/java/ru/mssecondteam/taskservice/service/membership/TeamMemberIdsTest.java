@@ -0,0 +1,44 @@
+package ru.mssecondteam.taskservice.service.membership;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class TeamMemberIdsTest {
+
+    @Test
+    @DisplayName("Duplicated ids are stored once")
+    void of_whenIdsAreDuplicated_shouldKeepDistinctIds() {
+        final TeamMemberIds ids = TeamMemberIds.of(List.of(5L, 3L, 5L, 1L, 3L));
+
+        assertThat(ids.size(), is(3));
+        assertThat(ids, is(TeamMemberIds.of(1L, 3L, 5L)));
+    }
+
+    @Test
+    @DisplayName("Contains finds only stored ids")
+    void contains_whenIdsAreStored_shouldFindOnlyStoredIds() {
+        final TeamMemberIds ids = TeamMemberIds.of(42L, 7L, 1_000_000L);
+
+        assertThat(ids.contains(7L), is(true));
+        assertThat(ids.contains(42L), is(true));
+        assertThat(ids.contains(1_000_000L), is(true));
+        assertThat(ids.contains(8L), is(false));
+        assertThat(ids.contains(0L), is(false));
+    }
+
+    @Test
+    @DisplayName("Membership includes the event owner")
+    void eventMembershipOf_whenOwnerIsNotInTeam_shouldAddOwner() {
+        final EventMembership membership = EventMembership.of(1L, 10L, List.of(2L, 3L));
+
+        assertThat(membership.teamMembersIds(), is(TeamMemberIds.of(2L, 3L, 10L)));
+        assertThat(membership.isTeamMember(10L), is(true));
+        assertThat(membership.isTeamMember(4L), is(false));
+        assertThat(membership.isTeamMember(null), is(false));
+    }
+}
@@ -0,0 +1,200 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+import ru.mssecondteam.taskservice.config.TaskSearchCacheProperties;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskDto;
+import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+class TaskSearchCacheTest {
+
+    private TaskSearchCache searchCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchCache = new TaskSearchCache(
+                new TaskSearchCacheProperties(true, Duration.ofMinutes(10), DataSize.ofMegabytes(1)), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Repeated search is served from cache")
+    void get_whenSearchRepeated_shouldLoadOnce() {
+        SearchResult<TaskDto> first = searchCache.get(key(5L), this::load);
+
+        SearchResult<TaskDto> second = searchCache.get(key(5L), this::load);
+
+        assertThat(loads.get(), is(1));
+        assertThat(second, is(first));
+    }
+
+    @Test
+    @DisplayName("Searches differing only in empty filter values share cache entry")
+    void get_whenFiltersEquivalent_shouldShareEntry() {
+        TaskSearchFilter emptyValues = TaskSearchFilter.builder()
+                .eventId(5L)
+                .statuses(Set.of())
+                .withoutEpic(false)
+                .build();
+        searchCache.get(TaskSearchKey.of(0, 10, null, false, emptyValues, TaskSort.CREATED_AT, Sort.Direction.ASC),
+                this::load);
+
+        searchCache.get(key(5L), this::load);
+
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("Change of event tasks evicts searches of that event and unscoped searches only")
+    void onTaskChanged_whenEventTasksChanged_shouldEvictSearchesOfEvent() {
+        searchCache.get(key(5L), this::load);
+        searchCache.get(key(6L), this::load);
+        searchCache.get(key(null), this::load);
+
+        searchCache.onTaskChanged(new TaskChangedEvent(5L));
+        searchCache.get(key(5L), this::load);
+        searchCache.get(key(6L), this::load);
+        searchCache.get(key(null), this::load);
+
+        assertThat(loads.get(), is(5));
+    }
+
+    @Test
+    @DisplayName("Change of event tasks evicts searches in several events including that event")
+    void onTaskChanged_whenOneOfSearchedEventsChanged_shouldEvictSearch() {
+        TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventIds(Set.of(5L, 6L))
+                .build();
+        TaskSearchKey key = TaskSearchKey.of(0, 10, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC);
+        searchCache.get(key, this::load);
+        searchCache.get(key(7L), this::load);
+
+        searchCache.onTaskChanged(new TaskChangedEvent(6L));
+        searchCache.get(key, this::load);
+        searchCache.get(key(7L), this::load);
+
+        assertThat(loads.get(), is(3));
+    }
+
+    @Test
+    @DisplayName("Search loaded before invalidation is not cached")
+    void get_whenInvalidatedDuringLoad_shouldNotCacheLoadedResult() {
+        searchCache.get(key(5L), () -> {
+            searchCache.invalidateEvent(5L);
+            return load();
+        });
+
+        searchCache.get(key(5L), this::load);
+
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Search loaded during change of another event is cached")
+    void get_whenOtherEventInvalidatedDuringLoad_shouldCacheLoadedResult() {
+        searchCache.get(key(5L), () -> {
+            searchCache.invalidateEvent(6L);
+            return load();
+        });
+
+        searchCache.get(key(5L), this::load);
+
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("Search evicted with one of its events is not evicted again by its other event")
+    void onTaskChanged_whenSearchEvictedByOneEvent_shouldBeCachedAgainUntilOtherEventChanges() {
+        TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventIds(Set.of(5L, 6L))
+                .assigneeId(3L)
+                .build();
+        TaskSearchKey key = TaskSearchKey.of(0, 10, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC);
+        searchCache.get(key, this::load);
+
+        searchCache.onTaskChanged(new TaskChangedEvent(5L));
+        searchCache.get(key, this::load);
+        searchCache.get(key, this::load);
+        searchCache.onTaskChanged(new TaskChangedEvent(6L));
+        searchCache.get(key, this::load);
+
+        assertThat(loads.get(), is(3));
+    }
+
+    @Test
+    @DisplayName("Cached result is not changed by the loader afterwards")
+    void get_whenLoadedContentModified_shouldKeepCachedContent() {
+        List<TaskDto> content = new ArrayList<>(List.of(task()));
+        searchCache.get(key(5L), () -> new SearchResult<>(content, null, null));
+
+        content.clear();
+
+        assertThat(searchCache.get(key(5L), this::load).content().size(), is(1));
+    }
+
+    @Test
+    @DisplayName("Cache hit ratio is published")
+    void get_whenSearched_shouldPublishHitRatio() {
+        searchCache.get(key(5L), this::load);
+        searchCache.get(key(5L), this::load);
+
+        double hitRatio = meterRegistry.get("cache.hit.ratio").tag("cache", "task.search").gauge().value();
+
+        assertThat(hitRatio, is(closeTo(0.5, 0.001)));
+    }
+
+    @Test
+    @DisplayName("Disabled cache loads every search")
+    void get_whenDisabled_shouldLoadEverySearch() {
+        searchCache = new TaskSearchCache(
+                new TaskSearchCacheProperties(false, Duration.ofMinutes(10), DataSize.ofMegabytes(1)),
+                new SimpleMeterRegistry());
+
+        searchCache.get(key(5L), this::load);
+        searchCache.get(key(5L), this::load);
+
+        assertThat(loads.get(), is(2));
+    }
+
+    private TaskSearchKey key(Long eventId) {
+        TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventId(eventId)
+                .build();
+        return TaskSearchKey.of(0, 10, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC);
+    }
+
+    private SearchResult<TaskDto> load() {
+        loads.incrementAndGet();
+        return new SearchResult<>(List.of(task()), null, null);
+    }
+
+    private static TaskDto task() {
+        return TaskDto.builder()
+                .id(1L)
+                .title("task")
+                .status(TaskStatus.TODO)
+                .eventId(5L)
+                .build();
+    }
+}
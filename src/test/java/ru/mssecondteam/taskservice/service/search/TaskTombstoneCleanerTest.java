@@ -0,0 +1,51 @@
+package ru.mssecondteam.taskservice.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.mssecondteam.taskservice.config.TaskChangesProperties;
+import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTombstoneCleanerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Cleanup deletes tombstones older than the retention")
+    void clean_shouldDeleteTombstonesRemovedBeforeRetention() {
+        TaskTombstoneCleaner cleaner = new TaskTombstoneCleaner(taskRepository, transactionManager,
+                new TaskChangesProperties(Duration.ofDays(7)));
+        when(taskRepository.deleteTombstones(any()))
+                .thenReturn(3);
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+
+        int deleted = cleaner.clean();
+
+        ArgumentCaptor<LocalDateTime> removedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).deleteTombstones(removedBefore.capture());
+        assertThat(deleted, is(3));
+        assertThat(removedBefore.getValue(), allOf(greaterThanOrEqualTo(before),
+                lessThanOrEqualTo(LocalDateTime.now().minusDays(7))));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.mssecondteam.taskservice.service.stats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mssecondteam.taskservice.config.TaskStatsProperties;
+import ru.mssecondteam.taskservice.dto.TaskStatsDto;
+import ru.mssecondteam.taskservice.service.search.TaskChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class TaskStatsCacheTest {
+
+    private TaskStatsCache statsCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        statsCache = new TaskStatsCache(new TaskStatsProperties(Duration.ofDays(7), Duration.ofMinutes(10), 100),
+                new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Change of event tasks evicts stats of event sets containing that event")
+    void onTaskChanged_whenEventTasksChanged_shouldEvictStatsOfEvent() {
+        statsCache.get(Set.of(5L, 6L), null, this::load);
+        statsCache.get(Set.of(6L), null, this::load);
+        statsCache.get(Set.of(6L), TaskStatsGroupBy.EPIC, this::load);
+
+        statsCache.onTaskChanged(new TaskChangedEvent(5L));
+        statsCache.get(Set.of(5L, 6L), null, this::load);
+        statsCache.get(Set.of(6L), null, this::load);
+        statsCache.get(Set.of(6L), TaskStatsGroupBy.EPIC, this::load);
+
+        assertThat(loads.get(), is(4));
+    }
+
+    @Test
+    @DisplayName("Stats counted before invalidation are not cached")
+    void get_whenInvalidatedDuringLoad_shouldNotCacheLoadedStats() {
+        statsCache.get(Set.of(5L), null, () -> {
+            statsCache.onTaskChanged(new TaskChangedEvent(5L));
+            return load();
+        });
+
+        statsCache.get(Set.of(5L), null, this::load);
+
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Stats counted during change of another event are cached")
+    void get_whenOtherEventInvalidatedDuringLoad_shouldCacheLoadedStats() {
+        statsCache.get(Set.of(5L), null, () -> {
+            statsCache.onTaskChanged(new TaskChangedEvent(6L));
+            return load();
+        });
+
+        statsCache.get(Set.of(5L), null, this::load);
+
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("Stats counted again after eviction are evicted by the next change of event tasks")
+    void onTaskChanged_whenStatsCountedAgainAfterEviction_shouldEvictThemAgain() {
+        statsCache.get(Set.of(5L, 6L), null, this::load);
+        statsCache.onTaskChanged(new TaskChangedEvent(5L));
+        statsCache.get(Set.of(5L, 6L), null, this::load);
+
+        statsCache.onTaskChanged(new TaskChangedEvent(6L));
+        statsCache.get(Set.of(5L, 6L), null, this::load);
+
+        assertThat(loads.get(), is(3));
+    }
+
+    private List<TaskStatsDto> load() {
+        loads.incrementAndGet();
+        return List.of(TaskStatsDto.builder()
+                .eventId(5L)
+                .total(1L)
+                .build());
+    }
+}
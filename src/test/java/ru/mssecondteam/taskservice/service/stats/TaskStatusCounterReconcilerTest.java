@@ -0,0 +1,59 @@
+package ru.mssecondteam.taskservice.service.stats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusCounterDrift;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusCounterReconcilerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskStatusCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new TaskStatusCounterReconciler(taskRepository, transactionManager, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Reconciliation recounts every event and reports drifted counters")
+    void reconcile_whenCountersDrifted_shouldReportDrifts() {
+        when(taskRepository.findCountedEventIds())
+                .thenReturn(List.of(5L, 6L));
+        when(taskRepository.reconcileStatusCounts(5L))
+                .thenReturn(List.of(new TaskStatusCounterDrift(5L, null, TaskStatus.TODO, 3L, 4L),
+                        new TaskStatusCounterDrift(5L, 7L, TaskStatus.DONE, 1L, 0L)));
+        when(taskRepository.reconcileStatusCounts(6L))
+                .thenReturn(List.of());
+
+        int drifted = reconciler.reconcile();
+
+        assertThat(drifted, is(2));
+        assertThat(meterRegistry.get("task.status.counters.drift").counter().count(), is(2.0));
+        verify(taskRepository, times(1)).reconcileStatusCounts(6L);
+    }
+}
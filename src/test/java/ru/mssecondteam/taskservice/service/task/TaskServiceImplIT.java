@@ -12,11 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
 import ru.mssecondteam.taskservice.dto.TaskUpdateRequest;
 import ru.mssecondteam.taskservice.dto.event.EventDto;
@@ -27,6 +30,7 @@ import ru.mssecondteam.taskservice.exception.NotFoundException;
 import ru.mssecondteam.taskservice.model.Task;
 import ru.mssecondteam.taskservice.model.TaskStatus;
 import ru.mssecondteam.taskservice.service.TaskService;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,13 +45,15 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThrows;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @Transactional
 @AutoConfigureWireMock(port = 0)
 @TestPropertySource(properties = {
-        "event-service.url=localhost:${wiremock.server.port}"
+        "event-service.url=localhost:${wiremock.server.port}",
+        "event-service.membership-cache.enabled=false"
 })
 class TaskServiceImplIT {
 
@@ -467,10 +473,10 @@ class TaskServiceImplIT {
 
         Task createdTask = taskService.createTask(userId, task);
 
-        Task foundTask = taskService.findTaskById(createdTask.getId());
+        TaskDto foundTask = taskService.findTaskById(createdTask.getId());
 
         assertThat(foundTask, notNullValue());
-        assertThat(foundTask.getId(), is(createdTask.getId()));
+        assertThat(foundTask.id(), is(createdTask.getId()));
     }
 
     @Test
@@ -536,12 +542,13 @@ class TaskServiceImplIT {
                 .eventId(task.getEventId())
                 .build();
 
-        List<Task> tasks = taskService.searchTasks(0, 10, filter);
+        List<TaskDto> tasks = taskService.searchTasks(0, 10, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC).content();
 
         assertThat(tasks, notNullValue());
         assertThat(tasks.size(), is(2));
-        assertThat(tasks.get(0).getId(), is(task.getId()));
-        assertThat(tasks.get(1).getId(), is(task2.getId()));
+        assertThat(tasks.get(0).id(), is(task.getId()));
+        assertThat(tasks.get(1).id(), is(task2.getId()));
     }
 
     @Test
@@ -596,7 +603,8 @@ class TaskServiceImplIT {
                 .eventId(task.getEventId())
                 .build();
 
-        List<Task> tasks = taskService.searchTasks(1, 10, filter);
+        List<TaskDto> tasks = taskService.searchTasks(1, 10, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC).content();
 
         assertThat(tasks, notNullValue());
         assertThat(tasks, emptyIterable());
@@ -654,11 +662,78 @@ class TaskServiceImplIT {
                 .eventId(task.getEventId())
                 .build();
 
-        List<Task> tasks = taskService.searchTasks(0, 1, filter);
+        List<TaskDto> tasks = taskService.searchTasks(0, 1, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC).content();
 
         assertThat(tasks, notNullValue());
         assertThat(tasks.size(), is(1));
-        assertThat(tasks.get(0).getId(), is(task.getId()));
+        assertThat(tasks.get(0).id(), is(task.getId()));
+    }
+
+    @Test
+    @DisplayName("Search tasks by event id with cursor")
+    @SneakyThrows
+    void searchTasks_whenNextCursorIsPassed_shouldReturnNextTask() {
+        EventDto event = createEvent(task.getAssigneeId());
+        TeamMemberDto teamMemberDto = TeamMemberDto.builder()
+                .eventId(event.id())
+                .userId(userId)
+                .role(TeamMemberRole.MANAGER)
+                .build();
+
+        stubFor(get(urlEqualTo("/events/" + task.getEventId()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", ContentType.APPLICATION_JSON.getMimeType())
+                        .withBody(objectMapper.writeValueAsString(event))
+                        .withStatus(200)));
+
+        stubFor(get(urlEqualTo("/events/teams/" + task.getEventId()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", ContentType.APPLICATION_JSON.getMimeType())
+                        .withBody(objectMapper.writeValueAsString(List.of(teamMemberDto)))
+                        .withStatus(200)));
+
+        taskService.createTask(userId, task);
+
+        Task task2 = createNewTask(2);
+
+        EventDto event2 = createEvent(task2.getAssigneeId());
+        TeamMemberDto teamMemberDto2 = TeamMemberDto.builder()
+                .eventId(event2.id())
+                .userId(userId)
+                .role(TeamMemberRole.MANAGER)
+                .build();
+
+        stubFor(get(urlEqualTo("/events/" + task2.getEventId()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", ContentType.APPLICATION_JSON.getMimeType())
+                        .withBody(objectMapper.writeValueAsString(event2))
+                        .withStatus(200)));
+
+        stubFor(get(urlEqualTo("/events/teams/" + task2.getEventId()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", ContentType.APPLICATION_JSON.getMimeType())
+                        .withBody(objectMapper.writeValueAsString(List.of(teamMemberDto2)))
+                        .withStatus(200)));
+
+        taskService.createTask(userId, task2);
+
+        TaskSearchFilter filter = TaskSearchFilter.builder()
+                .eventId(task.getEventId())
+                .build();
+
+        SearchResult<TaskDto> firstPage = taskService.searchTasks(0, 1, null, true, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC);
+        SearchResult<TaskDto> secondPage = taskService.searchTasks(0, 1, firstPage.nextCursor(), false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC);
+
+        assertThat(firstPage.content().get(0).id(), is(task.getId()));
+        assertThat(firstPage.nextCursor(), notNullValue());
+        assertThat(firstPage.total(), is(2L));
+        assertThat(secondPage.content().size(), is(1));
+        assertThat(secondPage.content().get(0).id(), is(task2.getId()));
+        assertThat(secondPage.nextCursor(), nullValue());
+        assertThat(secondPage.total(), nullValue());
     }
 
     @Test
@@ -715,11 +790,12 @@ class TaskServiceImplIT {
                 .assigneeId(task.getAssigneeId())
                 .build();
 
-        List<Task> tasks = taskService.searchTasks(0, 10, filter);
+        List<TaskDto> tasks = taskService.searchTasks(0, 10, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC).content();
 
         assertThat(tasks, notNullValue());
         assertThat(tasks.size(), is(1));
-        assertThat(tasks.get(0).getId(), is(task.getId()));
+        assertThat(tasks.get(0).id(), is(task.getId()));
     }
 
     @Test
@@ -775,11 +851,12 @@ class TaskServiceImplIT {
                 .authorId(userId)
                 .build();
 
-        List<Task> tasks = taskService.searchTasks(0, 10, filter);
+        List<TaskDto> tasks = taskService.searchTasks(0, 10, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC).content();
 
         assertThat(tasks, notNullValue());
         assertThat(tasks.size(), is(1));
-        assertThat(tasks.get(0).getId(), is(task2.getId()));
+        assertThat(tasks.get(0).id(), is(task2.getId()));
     }
 
     @Test
@@ -835,7 +912,8 @@ class TaskServiceImplIT {
                 .authorId(unknownId)
                 .build();
 
-        List<Task> tasks = taskService.searchTasks(0, 10, filter);
+        List<TaskDto> tasks = taskService.searchTasks(0, 10, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC).content();
 
         assertThat(tasks, notNullValue());
         assertThat(tasks, emptyIterable());
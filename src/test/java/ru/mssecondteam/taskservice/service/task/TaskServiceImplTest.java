@@ -1,5 +1,6 @@
 package ru.mssecondteam.taskservice.service.task;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,29 +9,62 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+import ru.mssecondteam.taskservice.config.TaskStatsProperties;
+import ru.mssecondteam.taskservice.config.TaskSearchCacheProperties;
+import ru.mssecondteam.taskservice.dto.SearchResult;
+import ru.mssecondteam.taskservice.dto.TaskChangesDto;
+import ru.mssecondteam.taskservice.dto.TaskDto;
 import ru.mssecondteam.taskservice.dto.TaskSearchFilter;
+import ru.mssecondteam.taskservice.dto.TaskStatsDto;
+import ru.mssecondteam.taskservice.dto.TaskSuggestionDto;
 import ru.mssecondteam.taskservice.dto.TaskUpdateRequest;
+import ru.mssecondteam.taskservice.exception.BadRequestException;
 import ru.mssecondteam.taskservice.exception.NotAuthorizedException;
 import ru.mssecondteam.taskservice.exception.NotFoundException;
 import ru.mssecondteam.taskservice.mapper.TaskMapper;
 import ru.mssecondteam.taskservice.model.Task;
 import ru.mssecondteam.taskservice.model.TaskStatus;
+import ru.mssecondteam.taskservice.repository.task.RankedTask;
+import ru.mssecondteam.taskservice.repository.task.TaskChange;
 import ru.mssecondteam.taskservice.repository.task.TaskRepository;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusCount;
+import ru.mssecondteam.taskservice.repository.task.TaskStatusKey;
 import ru.mssecondteam.taskservice.service.EventServiceHelper;
+import ru.mssecondteam.taskservice.service.authorization.AuthorizationPipeline;
 import ru.mssecondteam.taskservice.service.impl.TaskServiceImpl;
-
+import ru.mssecondteam.taskservice.service.search.TaskChangeCursor;
+import ru.mssecondteam.taskservice.service.search.TaskChangedEvent;
+import ru.mssecondteam.taskservice.service.search.TaskCursor;
+import ru.mssecondteam.taskservice.service.search.TaskSearchCache;
+import ru.mssecondteam.taskservice.service.search.TaskSort;
+import ru.mssecondteam.taskservice.service.search.TaskTextCursor;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsCache;
+import ru.mssecondteam.taskservice.service.stats.TaskStatsGroupBy;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -49,6 +83,27 @@ class TaskServiceImplTest {
     @Mock
     private EventServiceHelper eventServiceHelper;
 
+    @Spy
+    private AuthorizationPipeline authorizationPipeline = new AuthorizationPipeline(new SimpleMeterRegistry());
+
+    @Spy
+    private TaskSearchCache taskSearchCache = new TaskSearchCache(
+            new TaskSearchCacheProperties(false, Duration.ofSeconds(30), DataSize.ofMegabytes(1)),
+            new SimpleMeterRegistry());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TaskStatsProperties taskStatsProperties = new TaskStatsProperties(Duration.ofDays(7),
+            Duration.ofSeconds(10), 100);
+
+    @Spy
+    private TaskStatsCache taskStatsCache = new TaskStatsCache(taskStatsProperties, new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -91,6 +146,32 @@ class TaskServiceImplTest {
         assertThat(taskToSave.getAuthorId(), is(userId));
 
         verify(taskRepository, times(1)).save(taskToSave);
+        verify(taskRepository, times(1)).moveStatusCount(null, new TaskStatusKey(5L, null, TaskStatus.DONE));
+    }
+
+    @Test
+    @DisplayName("Update task status moves task between status counters")
+    void updateTask_whenStatusChanged_shouldMoveStatusCount() {
+        TaskUpdateRequest updateRequest = TaskUpdateRequest.builder()
+                .status(TaskStatus.CANCELLED)
+                .build();
+        TaskStatusKey counted = new TaskStatusKey(5L, null, TaskStatus.DONE);
+        when(taskRepository.findById(taskId))
+                .thenReturn(Optional.of(task));
+        doAnswer(invocation -> {
+            task.setStatus(TaskStatus.CANCELLED);
+            return null;
+        }).when(taskMapper).updateTask(updateRequest, task);
+        when(taskRepository.findStatusKeyForUpdate(taskId))
+                .thenReturn(Optional.of(counted));
+        when(taskRepository.save(task))
+                .thenReturn(task);
+        task.setAuthorId(userId);
+
+        taskService.updateTask(taskId, userId, updateRequest);
+
+        verify(taskRepository, times(1))
+                .moveStatusCount(counted, new TaskStatusKey(5L, null, TaskStatus.CANCELLED));
     }
 
     @Test
@@ -137,6 +218,51 @@ class TaskServiceImplTest {
         verify(taskRepository, times(1)).save(task);
     }
 
+    @Test
+    @DisplayName("Update task without changing event or assignee skips membership check")
+    void updateTask_whenEventAndAssigneeUnchanged_shouldNotCheckMembership() {
+        TaskUpdateRequest updateRequest = TaskUpdateRequest.builder()
+                .title("updated title")
+                .status(TaskStatus.IN_PROGRESS)
+                .build();
+        when(taskRepository.findById(taskId))
+                .thenReturn(Optional.of(task));
+        doNothing().when(taskMapper).updateTask(updateRequest, task);
+        when(taskRepository.save(task))
+                .thenReturn(task);
+        task.setAuthorId(userId);
+
+        taskService.updateTask(taskId, userId, updateRequest);
+
+        verify(eventServiceHelper, never()).checkIfEventExistsAndUsersAreEventTeamMembers(any(), any(), any());
+        verify(taskRepository, times(1)).save(task);
+    }
+
+    @Test
+    @DisplayName("Update task event checks membership in new event")
+    void updateTask_whenEventChanged_shouldCheckMembership() {
+        TaskUpdateRequest updateRequest = TaskUpdateRequest.builder()
+                .eventId(6L)
+                .build();
+        when(taskRepository.findById(taskId))
+                .thenReturn(Optional.of(task));
+        doAnswer(invocation -> {
+            task.setEventId(updateRequest.eventId());
+            return null;
+        }).when(taskMapper).updateTask(updateRequest, task);
+        when(taskRepository.save(task))
+                .thenReturn(task);
+        task.setAuthorId(userId);
+
+        taskService.updateTask(taskId, userId, updateRequest);
+
+        verify(eventServiceHelper, times(1))
+                .checkIfEventExistsAndUsersAreEventTeamMembers(userId, 6L, task.getAssigneeId());
+        verify(taskRepository, times(1)).save(task);
+        verify(eventPublisher, times(1)).publishEvent(new TaskChangedEvent(5L));
+        verify(eventPublisher, times(1)).publishEvent(new TaskChangedEvent(6L));
+    }
+
     @Test
     @DisplayName("Update task, user can not modify task")
     void updateTask_whenUserHasNotRightsToModify_shouldThrowNotAuthorizedException() {
@@ -183,18 +309,20 @@ class TaskServiceImplTest {
     @Test
     @DisplayName("Find task by id")
     void findTaskById_whenTaskIsFound_shouldReturnTask() {
-        when(taskRepository.findById(taskId))
-                .thenReturn(Optional.of(task));
+        TaskDto taskDto = TaskDto.builder().id(taskId).build();
+        when(taskRepository.findDtoById(taskId))
+                .thenReturn(Optional.of(taskDto));
 
-        taskService.findTaskById(taskId);
+        TaskDto result = taskService.findTaskById(taskId);
 
-        verify(taskRepository, times(1)).findById(taskId);
+        assertThat(result, is(taskDto));
+        verify(taskRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Find task by id, task not found")
     void findTaskById_whenTaskIsNotFound_shouldThrowNotFoundException() {
-        when(taskRepository.findById(taskId))
+        when(taskRepository.findDtoById(taskId))
                 .thenReturn(Optional.empty());
 
         NotFoundException ex = assertThrows(NotFoundException.class,
@@ -202,7 +330,7 @@ class TaskServiceImplTest {
 
         assertThat(ex.getMessage(), is("Task with id '" + taskId + "' was not found"));
 
-        verify(taskRepository, times(1)).findById(taskId);
+        verify(taskRepository, times(1)).findDtoById(taskId);
     }
 
     @Test
@@ -212,13 +340,366 @@ class TaskServiceImplTest {
         int page = 1;
         int size = 23;
         Specification<Task> spec = null;
-        Pageable pageable = PageRequest.of(page, size);
-        when(taskRepository.findAll(spec, pageable))
-                .thenReturn(Page.empty());
+        when(taskRepository.findSlice(spec, Sort.by("createdAt", "id"), 23L, 24))
+                .thenReturn(List.of());
 
-        taskService.searchTasks(page, size, filter);
+        SearchResult<TaskDto> result = taskService.searchTasks(page, size, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC);
 
-        verify(taskRepository, times(1)).findAll(spec, PageRequest.of(page, size));
+        assertThat(result.nextCursor(), nullValue());
+        assertThat(result.total(), nullValue());
+        verify(taskRepository, times(1)).findSlice(spec, Sort.by("createdAt", "id"), 23L, 24);
+        verify(taskRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("Search tasks, full page returns next cursor")
+    void searchTasks_whenNextPageExists_shouldReturnCursorOfLastTask() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+        TaskDto taskDto = TaskDto.builder()
+                .id(taskId)
+                .createdAt(LocalDateTime.of(2024, 10, 10, 12, 34, 33, 123456000))
+                .build();
+        TaskDto nextTask = TaskDto.builder().id(2L).build();
+        when(taskRepository.findSlice(null, Sort.by("createdAt", "id"), 0L, 2))
+                .thenReturn(List.of(taskDto, nextTask));
+
+        SearchResult<TaskDto> result = taskService.searchTasks(0, 1, null, false, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC);
+
+        assertThat(result.content(), is(List.of(taskDto)));
+        assertThat(TaskCursor.decode(result.nextCursor(), TaskSort.CREATED_AT, Sort.Direction.ASC),
+                is(new TaskCursor(TaskSort.CREATED_AT, Sort.Direction.ASC, taskDto.createdAt(), null, null, taskId)));
+    }
+
+    @Test
+    @DisplayName("Search tasks with total")
+    void searchTasks_whenTotalIsRequested_shouldCountTasks() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+        TaskDto taskDto = TaskDto.builder().id(taskId).build();
+        when(taskRepository.findSlice(null, Sort.by("createdAt", "id"), 0L, 11))
+                .thenReturn(List.of(taskDto));
+        when(taskRepository.count((Specification<Task>) null))
+                .thenReturn(1L);
+
+        SearchResult<TaskDto> result = taskService.searchTasks(0, 10, null, true, filter,
+                TaskSort.CREATED_AT, Sort.Direction.ASC);
+
+        assertThat(result.content(), is(List.of(taskDto)));
+        assertThat(result.total(), is(1L));
+    }
+
+    @Test
+    @DisplayName("Search tasks, invalid cursor")
+    void searchTasks_whenCursorIsInvalid_shouldThrowBadRequestException() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> taskService.searchTasks(0, 10, "not-a-cursor", false, filter,
+                        TaskSort.CREATED_AT, Sort.Direction.ASC));
+
+        assertThat(ex.getMessage(), is("Invalid search cursor 'not-a-cursor'"));
+        verify(taskRepository, never()).findSlice(any(), any(), any(Long.class), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Search tasks, page beyond the largest offset")
+    void searchTasks_whenPageOffsetOverflows_shouldThrowBadRequestException() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> taskService.searchTasks(Integer.MAX_VALUE / 10, 100, null, false, filter,
+                        TaskSort.CREATED_AT, Sort.Direction.ASC));
+
+        assertThat(ex.getMessage(), is("Page '214748364' of size '100' is too far, use the cursor instead"));
+        verify(taskRepository, never()).findSlice(any(), any(), any(Long.class), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Search tasks, cursor of another sort")
+    void searchTasks_whenCursorIsOfAnotherSort_shouldThrowBadRequestException() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventId(5L).build();
+        String cursor = new TaskCursor(TaskSort.CREATED_AT, Sort.Direction.ASC, LocalDateTime.of(2024, 10, 10, 12, 0),
+                null, TaskStatus.TODO, taskId).encode();
+
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks(0, 10, cursor, false, filter,
+                TaskSort.DEADLINE, Sort.Direction.ASC));
+
+        verify(taskRepository, never()).findSlice(any(), any(), any(Long.class), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Search tasks, sort without supporting index")
+    void searchTasks_whenSortIsNotSupportedByFilter_shouldThrowBadRequestException() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().assigneeId(3L).build();
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> taskService.searchTasks(0, 10, null,
+                false, filter, TaskSort.DEADLINE, Sort.Direction.ASC));
+
+        assertThat(ex.getMessage(), is("Sort 'DEADLINE' is not supported with filters [assigneeId], it requires " +
+                "one of filter sets [[eventId]]"));
+        verify(taskRepository, never()).findSlice(any(), any(), any(Long.class), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Search tasks of several events sorted by creation merges scans of every event")
+    void searchTasks_whenSortedByCreationWithinSeveralEvents_shouldMergeScanPerEvent() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventIds(Set.of(6L, 5L)).build();
+        TaskDto first = TaskDto.builder().id(1L).eventId(6L).build();
+        TaskDto second = TaskDto.builder().id(2L).eventId(5L).build();
+        when(taskRepository.findMergedSlice(any(), any(), any(Long.class), any(Integer.class)))
+                .thenReturn(List.of(first, second));
+
+        SearchResult<TaskDto> result = taskService.searchTasks(0, 10, null, false, filter, TaskSort.CREATED_AT,
+                Sort.Direction.ASC);
+
+        assertThat(result.content(), is(List.of(first, second)));
+        verify(taskRepository, times(1)).findMergedSlice(argThat(specs -> specs.size() == 2),
+                eq(Sort.by(Sort.Direction.ASC, "createdAt", "id")), eq(0L), eq(11));
+        verify(taskRepository, never()).findSlice(any(), any(), any(Long.class), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Search tasks of several events of assignee sorted by index of assignee")
+    void searchTasks_whenSeveralEventsOfAssignee_shouldSearch() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventIds(Set.of(5L, 6L)).assigneeId(3L).build();
+        when(taskRepository.findSlice(any(), any(), any(Long.class), any(Integer.class)))
+                .thenReturn(List.of());
+
+        taskService.searchTasks(0, 10, null, false, filter, TaskSort.CREATED_AT, Sort.Direction.ASC);
+
+        verify(taskRepository, times(1)).findSlice(any(), eq(Sort.by(Sort.Direction.ASC, "createdAt", "id")),
+                eq(0L), eq(11));
+    }
+
+    @Test
+    @DisplayName("Search tasks of one event passed as list sorted by deadline")
+    void searchTasks_whenSortedByDeadlineWithinSingleEventList_shouldSearch() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventIds(Set.of(5L)).build();
+        when(taskRepository.findSlice(any(), any(), any(Long.class), any(Integer.class)))
+                .thenReturn(List.of());
+
+        taskService.searchTasks(0, 10, null, false, filter, TaskSort.DEADLINE, Sort.Direction.ASC);
+
+        verify(taskRepository, times(1)).findSlice(any(), eq(Sort.by(Sort.Direction.ASC, "deadline", "id")),
+                eq(0L), eq(11));
+    }
+
+    @Test
+    @DisplayName("Search tasks by id within event, sort without supporting index")
+    void searchTasks_whenSortByIdWithinEvent_shouldThrowBadRequestException() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventId(5L).build();
+
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks(0, 10, null, false, filter,
+                TaskSort.ID, Sort.Direction.ASC));
+    }
+
+    @Test
+    @DisplayName("Search tasks by deadline descending")
+    void searchTasks_whenSortedByDeadlineDescending_shouldOrderByDeadlineAndId() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventId(5L).assigneeId(3L).build();
+        when(taskRepository.findSlice(any(), any(), any(Long.class), any(Integer.class)))
+                .thenReturn(List.of());
+
+        taskService.searchTasks(0, 10, null, false, filter, TaskSort.DEADLINE, Sort.Direction.DESC);
+
+        verify(taskRepository, times(1)).findSlice(any(), eq(Sort.by(Sort.Direction.DESC, "deadline", "id")),
+                eq(0L), eq(11));
+    }
+
+    @Test
+    @DisplayName("Search tasks by deadline, page continues with tasks without deadline")
+    void searchTasks_whenDatedTasksAreExhausted_shouldContinueWithTasksWithoutDeadline() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().eventId(5L).build();
+        String cursor = new TaskCursor(TaskSort.DEADLINE, Sort.Direction.ASC, LocalDateTime.of(2024, 10, 10, 12, 0),
+                LocalDateTime.of(2024, 11, 1, 0, 0), TaskStatus.TODO, taskId).encode();
+        TaskDto dated = TaskDto.builder().id(2L).deadline(LocalDateTime.of(2024, 12, 1, 0, 0)).build();
+        TaskDto undated = TaskDto.builder().id(3L).build();
+        TaskDto nextUndated = TaskDto.builder().id(4L).build();
+        when(taskRepository.findSlice(any(), any(), eq(0L), eq(3)))
+                .thenReturn(List.of(dated));
+        when(taskRepository.findSlice(any(), any(), eq(0L), eq(2)))
+                .thenReturn(List.of(undated, nextUndated));
+
+        SearchResult<TaskDto> result = taskService.searchTasks(0, 2, cursor, false, filter, TaskSort.DEADLINE,
+                Sort.Direction.ASC);
+
+        assertThat(result.content(), is(List.of(dated, undated)));
+        assertThat(TaskCursor.decode(result.nextCursor(), TaskSort.DEADLINE, Sort.Direction.ASC).id(), is(3L));
+    }
+
+    @Test
+    @DisplayName("Full-text search, full page returns next cursor")
+    void searchTasksByText_whenNextPageExists_shouldReturnCursorOfLastTask() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+        TaskDto taskDto = TaskDto.builder().id(taskId).build();
+        TaskDto nextTaskDto = TaskDto.builder().id(2L).build();
+        when(taskRepository.findByText("venue", null, null, 2))
+                .thenReturn(List.of(new RankedTask(taskDto, 0.6f), new RankedTask(nextTaskDto, 0.1f)));
+
+        SearchResult<TaskDto> result = taskService.searchTasksByText("venue", 1, null, filter);
+
+        assertThat(result.content(), is(List.of(taskDto)));
+        assertThat(TaskTextCursor.decode(result.nextCursor()), is(new TaskTextCursor(0.6f, taskId)));
+    }
+
+    @Test
+    @DisplayName("Full-text search continues after cursor")
+    void searchTasksByText_whenCursorIsPassed_shouldSearchAfterCursor() {
+        TaskSearchFilter filter = TaskSearchFilter.builder().build();
+        TaskTextCursor cursor = new TaskTextCursor(0.6f, 1L);
+        when(taskRepository.findByText("venue", null, cursor, 11))
+                .thenReturn(List.of());
+
+        SearchResult<TaskDto> result = taskService.searchTasksByText("venue", 10, cursor.encode(), filter);
+
+        assertThat(result.content(), is(List.of()));
+        assertThat(result.nextCursor(), nullValue());
+    }
+
+    @Test
+    @DisplayName("Suggest tasks by stripped text")
+    void suggestTasks_shouldSearchByStrippedText() {
+        TaskSuggestionDto suggestion = TaskSuggestionDto.builder().id(taskId).title("Prepare venue").build();
+        when(taskRepository.suggestByTitle(5L, "prep", 10))
+                .thenReturn(List.of(suggestion));
+
+        List<TaskSuggestionDto> result = taskService.suggestTasks(5L, " prep ", 10);
+
+        assertThat(result, is(List.of(suggestion)));
+    }
+
+    @Test
+    @DisplayName("Export tasks of event, every streamed task is passed to consumer")
+    void exportTasks_shouldPassStreamedTasksToConsumer() {
+        TaskDto first = TaskDto.builder().id(1L).title("First").eventId(5L).build();
+        TaskDto second = TaskDto.builder().id(2L).title("Second").eventId(5L).build();
+        when(taskRepository.streamByEventId(any(), any(Integer.class)))
+                .thenReturn(Stream.of(first, second));
+        List<TaskDto> exported = new ArrayList<>();
+
+        taskService.exportTasks(5L, exported::add);
+
+        assertThat(exported, is(List.of(first, second)));
+    }
+
+    @Test
+    @DisplayName("Task stats count overdue and upcoming tasks to do or in progress only")
+    void getTaskStats_whenGroupedByAssignee_shouldCountOpenTasksAsOverdue() {
+        when(taskRepository.countByStatus(eq(Set.of(5L)), eq(TaskStatsGroupBy.ASSIGNEE), any(), any()))
+                .thenReturn(List.of(
+                        new TaskStatusCount(5L, 3L, TaskStatus.TODO, 4L, 1L, 2L),
+                        new TaskStatusCount(5L, 3L, TaskStatus.DONE, 6L, 5L, 1L),
+                        new TaskStatusCount(5L, null, TaskStatus.IN_PROGRESS, 2L, 2L, 0L)));
+
+        List<TaskStatsDto> stats = taskService.getTaskStats(Set.of(5L), TaskStatsGroupBy.ASSIGNEE);
+
+        assertThat(stats.size(), is(2));
+        assertThat(stats.get(0).assigneeId(), is(3L));
+        assertThat(stats.get(0).epicId(), nullValue());
+        assertThat(stats.get(0).statusCounts(), is(Map.of(TaskStatus.TODO, 4L, TaskStatus.IN_PROGRESS, 0L,
+                TaskStatus.DONE, 6L, TaskStatus.CANCELLED, 0L)));
+        assertThat(stats.get(0).total(), is(10L));
+        assertThat(stats.get(0).overdue(), is(1L));
+        assertThat(stats.get(0).upcoming(), is(2L));
+        assertThat(stats.get(1).assigneeId(), nullValue());
+        assertThat(stats.get(1).total(), is(2L));
+        assertThat(stats.get(1).overdue(), is(2L));
+    }
+
+    @Test
+    @DisplayName("Repeated task stats request is served from cache")
+    void getTaskStats_whenRequestedTwice_shouldCountOnce() {
+        when(taskRepository.countByStatus(any(), any(), any(), any()))
+                .thenReturn(List.of(new TaskStatusCount(5L, null, TaskStatus.TODO, 4L, 1L, 2L)));
+
+        taskService.getTaskStats(Set.of(5L, 6L), null);
+        List<TaskStatsDto> stats = taskService.getTaskStats(Set.of(6L, 5L), null);
+
+        assertThat(stats.get(0).total(), is(4L));
+        verify(taskRepository, times(1)).countByStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Status counts are read from counters without overdue and upcoming counts")
+    void getStatusCounts_whenByEpic_shouldReturnCountsPerEpic() {
+        when(taskRepository.findStatusCounts(Set.of(5L), true))
+                .thenReturn(List.of(
+                        new TaskStatusCount(5L, null, TaskStatus.TODO, 3L, null, null),
+                        new TaskStatusCount(5L, 7L, TaskStatus.TODO, 1L, null, null),
+                        new TaskStatusCount(5L, 7L, TaskStatus.DONE, 2L, null, null)));
+
+        List<TaskStatsDto> stats = taskService.getStatusCounts(Set.of(5L), true);
+
+        assertThat(stats.size(), is(2));
+        assertThat(stats.get(0).epicId(), nullValue());
+        assertThat(stats.get(0).total(), is(3L));
+        assertThat(stats.get(1).epicId(), is(7L));
+        assertThat(stats.get(1).statusCounts(), is(Map.of(TaskStatus.TODO, 1L, TaskStatus.IN_PROGRESS, 0L,
+                TaskStatus.DONE, 2L, TaskStatus.CANCELLED, 0L)));
+        assertThat(stats.get(1).total(), is(3L));
+        assertThat(stats.get(1).overdue(), nullValue());
+        verify(taskRepository, never()).countByStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Find task changes returns page of changes in change order")
+    void findChanges_whenMoreChangesThanSize_shouldReturnPageAndNextVersion() {
+        TaskDto first = TaskDto.builder().id(3L).title("First").eventId(5L).build();
+        TaskDto second = TaskDto.builder().id(1L).title("Second").eventId(5L).build();
+        when(taskRepository.findChanges(5L, TaskChangeCursor.START, 4))
+                .thenReturn(List.of(new TaskChange(3L, 10L, false), new TaskChange(2L, 11L, true),
+                        new TaskChange(1L, 12L, false), new TaskChange(4L, 12L, false)));
+        when(taskRepository.findDtoByIdIn(List.of(3L, 1L)))
+                .thenReturn(List.of(second, first));
+
+        TaskChangesDto changes = taskService.findChanges(5L, null, 3);
+
+        assertThat(changes.tasks(), is(List.of(first, second)));
+        assertThat(changes.removedTaskIds(), is(List.of(2L)));
+        assertThat(changes.hasMore(), is(true));
+        assertThat(TaskChangeCursor.decode(changes.nextSince()), is(new TaskChangeCursor(12L, 1L)));
+    }
+
+    @Test
+    @DisplayName("Find task changes without new changes keeps version")
+    void findChanges_whenNoChanges_shouldReturnSameVersion() {
+        String since = new TaskChangeCursor(12L, 1L).encode();
+        when(taskRepository.findChanges(5L, new TaskChangeCursor(12L, 1L), 11))
+                .thenReturn(List.of());
+
+        TaskChangesDto changes = taskService.findChanges(5L, since, 10);
+
+        assertThat(changes.tasks(), is(List.of()));
+        assertThat(changes.removedTaskIds(), is(List.of()));
+        assertThat(changes.hasMore(), is(false));
+        assertThat(changes.nextSince(), is(since));
+        verify(taskRepository, never()).findDtoByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Find task changes with invalid version")
+    void findChanges_whenSinceIsInvalid_shouldThrowBadRequestException() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> taskService.findChanges(5L, "not-a-version", 10));
+
+        assertThat(ex.getMessage(), is("Invalid change version 'not-a-version'"));
+        verify(taskRepository, never()).findChanges(any(), any(), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Find task changes since version older than deleted tombstones")
+    void findChanges_whenSinceIsBeforeTombstoneHorizon_shouldThrowBadRequestException() {
+        String since = new TaskChangeCursor(12L, 1L).encode();
+        when(taskRepository.findTombstoneHorizon())
+                .thenReturn(15L);
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> taskService.findChanges(5L, since, 10));
+
+        assertThat(ex.getMessage(), is(String.format("Change version '%s' has expired, start over without since",
+                since)));
+        verify(taskRepository, never()).findChanges(any(), any(), any(Integer.class));
     }
 
     @Test
@@ -231,6 +712,22 @@ class TaskServiceImplTest {
         taskService.deleteTaskById(taskId, userId);
 
         verify(taskRepository, times(1)).deleteById(taskId);
+        verify(eventPublisher, times(1)).publishEvent(new TaskChangedEvent(5L));
+    }
+
+    @Test
+    @DisplayName("Delete task removes task from its status counter")
+    void deleteTaskById_whenTaskCounted_shouldRemoveStatusCount() {
+        TaskStatusKey counted = new TaskStatusKey(5L, 7L, TaskStatus.DONE);
+        task.setAuthorId(userId);
+        when(taskRepository.findById(taskId))
+                .thenReturn(Optional.of(task));
+        when(taskRepository.findStatusKeyForUpdate(taskId))
+                .thenReturn(Optional.of(counted));
+
+        taskService.deleteTaskById(taskId, userId);
+
+        verify(taskRepository, times(1)).moveStatusCount(counted, null);
     }
 
     @Test
@@ -261,6 +758,7 @@ class TaskServiceImplTest {
         assertThat(ex.getMessage(), is("User with id '" + userId + "' is not authorized to delete task with id '" +
                 task.getId() + "'"));
 
+        verify(eventServiceHelper, never()).checkIfEventExistsAndUsersAreEventTeamMembers(any(), any(), any());
         verify(taskRepository, never()).deleteById(any());
     }
 